@@ -0,0 +1,148 @@
+package edu.nyu.cs.pjm419;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+/**
+ * Class which indexes the words of a dictionary by their letters, so
+ * that anagrams can be found without generating permutations.
+ *
+ * The signature of a word is its letters in sorted order (e.g., the
+ * signature of "race" is "acer"), and two words are anagrams of each
+ * other exactly when they have the same signature. The index maps each
+ * signature to the words of the dictionary with that signature, so all
+ * of the words using exactly a given set of letters are found with a
+ * single hash lookup, instead of n! calls to DictionaryList.contains.
+ *
+ * The words that use only some of the letters (the subsets that
+ * SetOfLetters also finds) are found by looking up each distinct
+ * sub-multiset of the letters: at most 2^n lookups for n letters.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class AnagramIndex {
+
+	/*FIELDS*/
+
+	/**Map from a signature to the dictionary words that have it*/
+	private HashMap<String, ArrayList<String>> index = new HashMap<String, ArrayList<String>>();
+
+	/**
+	 * Constructor which builds the index for every word of
+	 * a dictionary.
+	 *
+	 * @param dict dictionary whose words are to be indexed
+	 */
+	public AnagramIndex(DictionaryList dict){
+		for (int i = 0; i < dict.size(); i++){
+			this.add(dict.get(i));
+		}
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Adds a word to the index (a word that was already added
+	 * is not added again).
+	 *
+	 * @param word word to be added
+	 */
+	public void add(String word){
+		String key = signature(word);
+		ArrayList<String> words = this.index.get(key);
+		if (words == null){
+			words = new ArrayList<String>(1);
+			this.index.put(key, words);
+		}
+		if (!words.contains(word)) words.add(word);
+	}
+
+	/**
+	 * Method which finds the words that use exactly the given letters
+	 * (all of them, each as many times as it is given).
+	 *
+	 * @param letters the letters to be used
+	 * @return the matching words, in sorted order
+	 */
+	public ArrayList<String> anagramsOf(String letters){
+		ArrayList<String> words = this.index.get(signature(letters));
+		ArrayList<String> result = words == null ? new ArrayList<String>() : new ArrayList<String>(words);
+		Collections.sort(result);
+		return result;
+	}
+
+	/**
+	 * Method which finds the words that can be made from the given
+	 * letters, using at least 2 of them: the same words SetOfLetters
+	 * finds by permuting the letters.
+	 *
+	 * @param letters the letters available
+	 * @return the matching words, in sorted order
+	 */
+	public ArrayList<String> findWords(String letters){
+		char[] sorted = signature(letters).toCharArray();
+
+		// break the letters up into distinct letters and counts
+		char[] distinct = new char[sorted.length];
+		int[] counts = new int[sorted.length];
+		int n = 0;
+		for (char ch : sorted){
+			if (n == 0 || distinct[n-1] != ch) distinct[n++] = ch;
+			counts[n-1]++;
+		}
+
+		ArrayList<String> result = new ArrayList<String>();
+		this.lookupSubsets(distinct, counts, n, 0, new char[sorted.length], 0, result);
+
+		// every word has one signature, so there are no duplicates to remove
+		Collections.sort(result);
+		return result;
+	}
+
+	/**
+	 * Recursive method which looks up every sub-multiset of the letters.
+	 * For each distinct letter in turn, it tries using it 0, 1, ... up
+	 * to counts[i] times. The key is built in sorted order, so it is a
+	 * signature as it stands.
+	 *
+	 * @param distinct the distinct letters, in sorted order
+	 * @param counts number of times each distinct letter is available
+	 * @param n number of distinct letters
+	 * @param i index of the distinct letter to decide on next
+	 * @param key holds the signature built so far in key[0,length)
+	 * @param length length of the signature built so far
+	 * @param result list the words found are added to
+	 */
+	private void lookupSubsets(char[] distinct, int[] counts, int n, int i,
+			char[] key, int length, ArrayList<String> result){
+		// base case: every letter has been decided on
+		if (i == n){
+			if (length > 1){
+				ArrayList<String> words = this.index.get(new String(key, 0, length));
+				if (words != null) result.addAll(words);
+			}
+			return;
+		}
+
+		for (int used = 0; used <= counts[i]; used++){
+			if (used > 0) key[length + used - 1] = distinct[i];
+			this.lookupSubsets(distinct, counts, n, i+1, key, length + used, result);
+		}
+	}
+
+	/*CLASS METHODS*/
+
+	/**
+	 * Method which computes the signature of a word: its
+	 * letters in sorted order.
+	 *
+	 * @param word word whose signature is wanted
+	 * @return the letters of <word>, sorted
+	 */
+	public static String signature(String word){
+		char[] letters = word.toCharArray();
+		Arrays.sort(letters);
+		return new String(letters);
+	}
+}
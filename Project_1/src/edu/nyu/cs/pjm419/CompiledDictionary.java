@@ -0,0 +1,211 @@
+package edu.nyu.cs.pjm419;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.zip.CRC32;
+/**
+ * Class which compiles a text dictionary into a binary file, and loads
+ * the dictionaries back out of it, so that a program that starts often
+ * doesn't have to parse the text file every time.
+ * 
+ * The compiled file holds:
+ *  - a header: magic number, format version, flags, number of words
+ *    and number of bytes of packed words
+ *  - the words, lower-cased, sorted and de-duplicated, in the packed
+ *    form of PackedWords: their bytes, then the offsets of the words
+ *  - if the HAS_TRIE flag is set, the image of a DictionaryDoubleArray
+ *    built from the same words (see DictionaryDoubleArray.writeTo)
+ *  - a CRC32 checksum of everything before it
+ * The loader reads the whole file with one FileChannel read, checks the
+ * checksum, and copies the arrays out in bulk: there is nothing to parse
+ * or sort, and no per-word objects are created.
+ * 
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class CompiledDictionary {
+
+	/*CONSTANTS*/
+	private static final int MAGIC = 0x57444354; // "WDCT"
+	/**Version of the format (2 since the packed words are UTF-8)*/
+	private static final int VERSION = 2;
+	/**Flag marking a file that holds a DictionaryDoubleArray image*/
+	private static final int HAS_TRIE = 1;
+	/**Bytes in the header*/
+	private static final int HEADER_SIZE = 5 * 4;
+	/**Bytes in the checksum*/
+	private static final int CHECKSUM_SIZE = 8;
+
+	/*FIELDS*/
+
+	/**The words, as a DictionaryList in packed mode*/
+	private DictionaryList list;
+	/**The words, as a double-array trie (null if not compiled in)*/
+	private DictionaryDoubleArray trie;
+
+	/**
+	 * Constructor used by load.
+	 */
+	private CompiledDictionary(DictionaryList list, DictionaryDoubleArray trie){
+		this.list = list;
+		this.trie = trie;
+	}
+
+	/*GETTERS*/
+
+	/**
+	 * @return the words, as a DictionaryList in packed mode
+	 */
+	public DictionaryList getList(){
+		return this.list;
+	}
+
+	/**
+	 * @return the words, as a double-array trie, or null if the file
+	 * 		   was compiled without one
+	 */
+	public DictionaryDoubleArray getTrie(){
+		return this.trie;
+	}
+
+	/*CLASS METHODS*/
+
+	/**
+	 * Method which compiles a text dictionary file (in the format
+	 * DictionaryList reads) into a binary file.
+	 * 
+	 * @param dictFile text dictionary file
+	 * @param compiled file to write the compiled dictionary to
+	 * @param withTrie if true, a double-array trie is compiled in too
+	 * @throws IOException if <compiled> cannot be written
+	 */
+	public static void compile(File dictFile, File compiled, boolean withTrie) throws IOException {
+		List<String> words = DictionaryDoubleArray.readWords(dictFile);
+		PackedWords packed = new PackedWords();
+		for (String word : words){
+			packed.add(word);
+		}
+		packed.trim();
+		DictionaryDoubleArray trie = withTrie ? new DictionaryDoubleArray(words) : null;
+
+		byte[] bytes = packed.getBytes();
+		int[] offsets = packed.getOffsets();
+		int size = HEADER_SIZE + bytes.length + offsets.length * 4
+				+ (trie != null ? trie.imageSize() : 0) + CHECKSUM_SIZE;
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(trie != null ? HAS_TRIE : 0);
+		buffer.putInt(packed.size());
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+		buffer.asIntBuffer().put(offsets);
+		buffer.position(buffer.position() + offsets.length * 4);
+		if (trie != null) trie.writeTo(buffer);
+		buffer.putLong(checksum(buffer.array(), buffer.position()));
+		buffer.flip();
+
+		FileOutputStream out = new FileOutputStream(compiled);
+		try {
+			FileChannel channel = out.getChannel();
+			while (buffer.hasRemaining()) channel.write(buffer);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Method which loads a compiled dictionary file written by compile.
+	 * 
+	 * @param compiled the compiled dictionary file
+	 * @return the dictionaries stored in the file
+	 * @throws IOException if the file cannot be read, is not a compiled
+	 * 		   dictionary of a supported version, or fails its checksum
+	 */
+	public static CompiledDictionary load(File compiled) throws IOException {
+		ByteBuffer buffer;
+		FileInputStream in = new FileInputStream(compiled);
+		try {
+			FileChannel channel = in.getChannel();
+			if (channel.size() > Integer.MAX_VALUE){
+				throw new IOException("<" + compiled + "> is too large to be a compiled dictionary");
+			}
+			buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0);
+			buffer.flip();
+		} finally {
+			in.close();
+		}
+
+		if (buffer.remaining() < HEADER_SIZE + CHECKSUM_SIZE || buffer.getInt() != MAGIC){
+			throw new IOException("<" + compiled + "> is not a compiled dictionary");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION){
+			throw new IOException("unsupported compiled dictionary version " + version);
+		}
+		int end = buffer.limit() - CHECKSUM_SIZE;
+		if (buffer.getLong(end) != checksum(buffer.array(), end)){
+			throw new IOException("<" + compiled + "> is corrupt (checksum mismatch)");
+		}
+
+		int flags = buffer.getInt();
+		int size = buffer.getInt();
+		int byteCount = buffer.getInt();
+		if (size < 0 || byteCount < 0 || byteCount + (size + 1) * 4L > end - buffer.position()){
+			throw new IOException("<" + compiled + "> is truncated");
+		}
+		byte[] bytes = new byte[byteCount];
+		buffer.get(bytes);
+		int[] offsets = new int[size + 1];
+		IntBuffer ints = buffer.asIntBuffer();
+		ints.get(offsets);
+		buffer.position(buffer.position() + offsets.length * 4);
+
+		DictionaryDoubleArray trie = null;
+		if ((flags & HAS_TRIE) != 0){
+			buffer.limit(end);
+			trie = DictionaryDoubleArray.readFrom(buffer);
+		}
+		return new CompiledDictionary(new DictionaryList(new PackedWords(bytes, offsets)), trie);
+	}
+
+	/**
+	 * Method to determine whether a file is a compiled dictionary (by
+	 * its magic number), rather than a text one.
+	 * 
+	 * @param file the file
+	 * @return true if <file> starts like a compiled dictionary
+	 */
+	public static boolean isCompiled(File file){
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new FileInputStream(file));
+			return in.readInt() == MAGIC;
+		} catch (IOException e) {
+			return false;
+		} finally {
+			try {
+				if (in != null) in.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	/**
+	 * Helper method which computes the CRC32 checksum of the start
+	 * of an array.
+	 * 
+	 * @param bytes the array
+	 * @param length number of bytes to include
+	 * @return the checksum of bytes[0,length)
+	 */
+	private static long checksum(byte[] bytes, int length){
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, length);
+		return crc.getValue();
+	}
+}
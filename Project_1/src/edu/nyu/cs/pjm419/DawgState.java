@@ -0,0 +1,128 @@
+package edu.nyu.cs.pjm419;
+import java.util.Arrays;
+/**
+ * State of a DAWG (directed acyclic word graph), see DictionaryDAWG.
+ *
+ * Like a TrieNode, a state keeps a sorted array of the letters on its
+ * outgoing edges and a parallel array of the states they lead to. In a
+ * DAWG a state may be shared by many words, so two states are equal
+ * (in the sense of equals/hashCode) when they accept exactly the same
+ * set of suffixes: they agree on whether they are final, have the same
+ * edge letters, and each letter leads to the very same state. The
+ * minimization in DictionaryDAWG relies on this, and on a state not
+ * being changed once it has been registered.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+class DawgState {
+
+	/*CONSTANTS*/
+	private static final char[] NO_LABELS = new char[0];
+	private static final DawgState[] NO_CHILDREN = new DawgState[0];
+
+	/*FIELDS*/
+
+	/**Letters on the outgoing edges, in sorted order*/
+	private char[] labels = NO_LABELS;
+	/**Targets of the outgoing edges; children[i] is reached by labels[i]*/
+	private DawgState[] children = NO_CHILDREN;
+	/**True if a word ends at this state*/
+	private boolean isFinal = false;
+
+	/*GETTERS & SETTERS*/
+
+	boolean isFinal(){
+		return this.isFinal;
+	}
+
+	void setFinal(boolean isFinal){
+		this.isFinal = isFinal;
+	}
+
+	int childCount(){
+		return this.labels.length;
+	}
+
+	char getLabel(int i){
+		return this.labels[i];
+	}
+
+	DawgState getChildAt(int i){
+		return this.children[i];
+	}
+
+	/**
+	 * @return the target of the last (highest-lettered) outgoing edge
+	 */
+	DawgState getLastChild(){
+		return this.children[this.children.length - 1];
+	}
+
+	/**
+	 * Redirects the last (highest-lettered) outgoing edge.
+	 *
+	 * @param child the new target of the edge
+	 */
+	void setLastChild(DawgState child){
+		this.children[this.children.length - 1] = child;
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Finds the state reached by a letter.
+	 *
+	 * @param letter letter on the edge
+	 * @return the state reached, or null if there is no such edge
+	 */
+	DawgState getChild(char letter){
+		int i = Arrays.binarySearch(this.labels, letter);
+		return i >= 0 ? this.children[i] : null;
+	}
+
+	/**
+	 * Adds an edge to a new state. The letter must sort after every
+	 * letter already on an edge of this state.
+	 *
+	 * @param letter letter on the new edge
+	 * @return the new state
+	 */
+	DawgState addChild(char letter){
+		int n = this.labels.length;
+		this.labels = Arrays.copyOf(this.labels, n + 1);
+		this.children = Arrays.copyOf(this.children, n + 1);
+		this.labels[n] = letter;
+		this.children[n] = new DawgState();
+		return this.children[n];
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object o){
+		if (!(o instanceof DawgState)) return false;
+		DawgState other = (DawgState) o;
+		if (this.isFinal != other.isFinal || !Arrays.equals(this.labels, other.labels)) return false;
+
+		// children are already unique, so they are compared by identity
+		for (int i = 0; i < this.children.length; i++){
+			if (this.children[i] != other.children[i]) return false;
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode(){
+		int hash = this.isFinal ? 1 : 0;
+		for (int i = 0; i < this.labels.length; i++){
+			hash = 31 * hash + this.labels[i];
+			hash = 31 * hash + System.identityHashCode(this.children[i]);
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,192 @@
+package edu.nyu.cs.pjm419;
+import java.io.*;
+import java.util.*;
+/**
+ * Class which provides an ADT for a Dictionary Representation.
+ * The Dictionary is implemented as a minimal DAWG (directed acyclic
+ * word graph): a trie in which every set of identical subtrees is
+ * stored only once.
+ *
+ * In a plain trie, common endings such as -ing, -ed and -s are stored
+ * again under every word that uses them. A DAWG merges all of those
+ * copies into one, so it usually has many times fewer states than the
+ * trie for the same words, while contains and containsPrefix still
+ * walk it one letter at a time, exactly like DictionaryTrie.
+ *
+ * The DAWG is built incrementally from the sorted list of words a
+ * WordLoader returns (so the file may be in any order, as for
+ * DictionaryList), using the algorithm of Daciuk et al.: as soon as
+ * a word has been added, the part of the previous word that cannot
+ * change any more is minimized, so the full trie is never built.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class DictionaryDAWG implements Dictionary {
+
+	/*FIELDS*/
+
+	/**File object pointing to the text file of the dictionary*/
+	private File dictFile;
+	/**Start state of the DAWG, which represents the empty string*/
+	private DawgState root = new DawgState();
+	/**Number of distinct words stored*/
+	private int size = 0;
+	/**Number of distinct states in the DAWG*/
+	private int stateCount = 1;
+
+	/**
+	 * Constructor method for DictionaryDAWG class
+	 *
+	 * Instantiates a <DictionaryDAWG> object, with a single
+	 * parameter of file object. It then calls a helper method
+	 * to build the DAWG from the words of the given text file.
+	 *
+	 * @param dictFile File object pointing to dictionary text file
+	 */
+	public DictionaryDAWG(File dictFile) {
+		this.dictFile = dictFile;
+		this.populateDictionary();
+	}
+
+	/*INSTANCE METHODS*/
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#contains(java.lang.String)
+	 */
+	@Override
+	public boolean contains(String word){
+		DawgState state = this.find(word);
+		return state != null && state.isFinal();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#containsPrefix(java.lang.String)
+	 */
+	@Override
+	public boolean containsPrefix(String prefix){
+		// every state lies on the path to at least one word
+		return this.size > 0 && this.find(prefix) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#size()
+	 */
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 * Method to determine the number of states the DAWG is made of
+	 * (a plain trie needs one node per distinct prefix).
+	 *
+	 * @return the number of distinct states, including the start state
+	 */
+	public int stateCount(){
+		return this.stateCount;
+	}
+
+	/**
+	 * Helper method which follows the path spelled out by a string
+	 * from the start state.
+	 *
+	 * @param s string to follow
+	 * @return the state at the end of the path, or null if there
+	 * 		   is no such path
+	 */
+	private DawgState find(String s){
+		DawgState current = this.root;
+		for (int i = 0; i < s.length() && current != null; i++){
+			current = current.getChild(s.charAt(i));
+		}
+		return current;
+	}
+
+	/*BUILDING*/
+
+	/**
+	 * Method which builds the DAWG from the text file given by the
+	 * dictFile field. The words are read with a WordLoader, so they
+	 * come back lower-case and sorted, the same as DictionaryList
+	 * stores them, and repeated words are skipped.
+	 */
+	private void populateDictionary(){
+
+		// register of the minimized states; each unique state maps to itself
+		HashMap<DawgState, DawgState> register = new HashMap<DawgState, DawgState>();
+		String previous = "";
+
+		// need try-catch by constructs of java, but error-handling
+		// was already taken care of in the FindWords class when filename
+		// was accepted as command line input
+		try {
+			for (String word : WordLoader.load(this.dictFile)){
+				if (!word.equals(previous)){
+					this.add(word, previous, register);
+					previous = word;
+				}
+			}
+		} catch (IOException e) {
+		}// error already handled in FindWords;
+
+		// minimize what is left of the last word
+		if (this.root.childCount() > 0) this.replaceOrRegister(this.root, register);
+	}
+
+	/**
+	 * Adds a word that sorts after every word added so far.
+	 *
+	 * @param word the word to be added
+	 * @param previous the word added just before it
+	 * @param register register of the minimized states
+	 */
+	private void add(String word, String previous, HashMap<DawgState, DawgState> register){
+		// follow the prefix the word shares with the previous word
+		int common = 0;
+		DawgState state = this.root;
+		while (common < word.length() && common < previous.length()
+				&& word.charAt(common) == previous.charAt(common)){
+			state = state.getChild(word.charAt(common++));
+		}
+
+		// the rest of the previous word can no longer gain edges, so minimize it
+		// (unless the previous word is itself a prefix of the new word)
+		if (common < previous.length()) this.replaceOrRegister(state, register);
+
+		// and hang the rest of the new word off the shared prefix
+		for (int i = common; i < word.length(); i++){
+			state = state.addChild(word.charAt(i));
+			this.stateCount++;
+		}
+		state.setFinal(true);
+		this.size++;
+	}
+
+	/**
+	 * Minimizes the most recently added branch below a state: each
+	 * state on it is replaced by an equal state from the register if
+	 * there is one, otherwise it is added to the register.
+	 *
+	 * @param state state whose last child is to be minimized
+	 * @param register register of the minimized states
+	 */
+	private void replaceOrRegister(DawgState state, HashMap<DawgState, DawgState> register){
+		DawgState child = state.getLastChild();
+
+		// children have to be unique before the child can be compared
+		if (child.childCount() > 0) this.replaceOrRegister(child, register);
+
+		DawgState existing = register.get(child);
+		if (existing != null){
+			state.setLastChild(existing);
+			this.stateCount--;
+		}
+		else {
+			register.put(child, child);
+		}
+	}
+}
@@ -0,0 +1,443 @@
+package edu.nyu.cs.pjm419;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+/**
+ * Class which provides an ADT for a Dictionary Representation.
+ * The Dictionary is implemented as a double-array trie: a trie
+ * whose nodes are stored in two int arrays, <base> and <check>,
+ * rather than as node objects.
+ *
+ * Every trie node is a state s (an index into the arrays), and
+ * every letter is given a small integer code. The child of s on a
+ * letter with code c is the state t = base[s] + c, which is only
+ * valid if check[t] == s. Code 0 is reserved to mark the end of a
+ * word: s completes a word if check[base[s]] == s. So a lookup is
+ * two array reads per letter, with no pointers to follow.
+ *
+ * Because all of the state is in a few arrays, the trie can be saved
+ * to a binary image (see save) and loaded again (see load) with a
+ * single bulk read, instead of re-parsing the text dictionary.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class DictionaryDoubleArray implements Dictionary {
+
+	/*CONSTANTS*/
+
+	/**Magic number at the start of a binary image ("DAT1")*/
+	private static final int MAGIC = 0x44415431;
+	/**Version of the binary image format*/
+	private static final int VERSION = 1;
+	/**Value of check[] for a slot that is not used by any state*/
+	private static final int FREE = -1;
+	/**Code of the end-of-word transition*/
+	private static final int END = 0;
+
+	/*FIELDS*/
+
+	/**Offset of the children of each state*/
+	private int[] base;
+	/**Parent of each state, or FREE*/
+	private int[] check;
+	/**Letters that appear in the dictionary, sorted; the letter
+	 * alphabet[i] has code i+1*/
+	private char[] alphabet;
+	/**Code of each character (0 for characters not in <alphabet>)*/
+	private int[] codes;
+	/**Number of words stored*/
+	private int size;
+
+	/**
+	 * Constructor method for DictionaryDoubleArray class
+	 *
+	 * Instantiates a <DictionaryDoubleArray> object from a text
+	 * dictionary file, in the same format read by DictionaryList.
+	 * The words are lower-cased, sorted and de-duplicated before
+	 * the arrays are built.
+	 *
+	 * @param dictFile File object pointing to dictionary text file
+	 */
+	public DictionaryDoubleArray(File dictFile) {
+		this.build(readWords(dictFile));
+	}
+
+	/**
+	 * Constructor which builds the arrays from a list of words that
+	 * are already lower-cased, sorted and de-duplicated.
+	 *
+	 * @param words the words of the dictionary
+	 */
+	DictionaryDoubleArray(List<String> words) {
+		this.build(words);
+	}
+
+	/**
+	 * Constructor used when loading the arrays from a binary image.
+	 */
+	private DictionaryDoubleArray() {
+	}
+
+	/*INSTANCE METHODS*/
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#contains(java.lang.String)
+	 */
+	@Override
+	public boolean contains(String word){
+		int s = this.walk(word);
+		if (s < 0 || this.size == 0) return false;
+
+		// the word is complete if s has an end-of-word transition
+		int t = this.base[s] + END;
+		return t < this.check.length && this.check[t] == s;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#containsPrefix(java.lang.String)
+	 */
+	@Override
+	public boolean containsPrefix(String prefix){
+		// every state lies on the path to at least one word
+		return this.size > 0 && this.walk(prefix) >= 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#size()
+	 */
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 * Helper method which follows the transitions spelled out by a
+	 * string, starting from the root state (0).
+	 *
+	 * @param s string to follow
+	 * @return the state reached, or -1 if there is no such path
+	 */
+	private int walk(String s){
+		int state = 0;
+		for (int i = 0; i < s.length(); i++){
+			int t = this.base[state] + this.code(s.charAt(i));
+			// code 0 means the letter is not in the dictionary at all
+			if (t == this.base[state] || t >= this.check.length || this.check[t] != state){
+				return -1;
+			}
+			state = t;
+		}
+		return state;
+	}
+
+	/**
+	 * @param ch a character
+	 * @return the code of <ch>, or 0 if no word contains it
+	 */
+	private int code(char ch){
+		return ch < this.codes.length ? this.codes[ch] : 0;
+	}
+
+	/**
+	 * Builds the code table from the alphabet.
+	 */
+	private void buildCodes(){
+		int max = this.alphabet.length == 0 ? 0 : this.alphabet[this.alphabet.length-1];
+		this.codes = new int[max + 1];
+		for (int i = 0; i < this.alphabet.length; i++){
+			this.codes[this.alphabet[i]] = i + 1;
+		}
+	}
+
+	/*BUILDING*/
+
+	/**
+	 * Builds the base and check arrays from a sorted list of
+	 * distinct words.
+	 *
+	 * @param words sorted, distinct words to be stored
+	 */
+	private void build(List<String> words){
+		// collect the alphabet
+		TreeSet<Character> letters = new TreeSet<Character>();
+		for (String word : words){
+			for (int i = 0; i < word.length(); i++) letters.add(word.charAt(i));
+		}
+		this.alphabet = new char[letters.size()];
+		int k = 0;
+		for (char ch : letters) this.alphabet[k++] = ch;
+		this.buildCodes();
+
+		this.size = words.size();
+		this.base = new int[1024];
+		this.check = new int[1024];
+		Arrays.fill(this.check, FREE);
+		this.check[0] = 0; // the root is in use (as its own parent)
+
+		Builder builder = new Builder(words);
+		if (!words.isEmpty()) builder.insert(0, words.size(), 0, 0);
+
+		// trim the arrays down to the last slot in use
+		this.base = Arrays.copyOf(this.base, builder.maxUsed + 1);
+		this.check = Arrays.copyOf(this.check, builder.maxUsed + 1);
+	}
+
+	/**
+	 * Helper class holding the state needed while the arrays are
+	 * being built.
+	 */
+	private class Builder {
+		/**Sorted, distinct words being stored*/
+		private List<String> words;
+		/**Every slot below this one is known to be in use*/
+		private int firstFree = 1;
+		/**Highest slot in use*/
+		private int maxUsed = 0;
+
+		Builder(List<String> words){
+			this.words = words;
+		}
+
+		/**
+		 * Places the children of one state. The words in [lo,hi) are
+		 * exactly those that pass through <state>, whose path spells
+		 * out their first <depth> letters.
+		 *
+		 * @param lo index of the first word through <state>
+		 * @param hi index just past the last word through <state>
+		 * @param depth length of the path to <state>
+		 * @param state the state whose children are placed
+		 */
+		void insert(int lo, int hi, int depth, int state){
+			// group the words by the code of their next letter (the words
+			// are sorted, so a word ending here comes first and each
+			// letter's words are next to each other)
+			int[] childCodes = new int[alphabet.length + 1];
+			int[] starts = new int[alphabet.length + 2];
+			int n = 0;
+			for (int i = lo; i < hi; i++){
+				String word = this.words.get(i);
+				int c = word.length() == depth ? END : code(word.charAt(depth));
+				if (n == 0 || childCodes[n-1] != c){
+					childCodes[n] = c;
+					starts[n++] = i;
+				}
+			}
+			starts[n] = hi;
+
+			int b = this.findBase(childCodes, n);
+			base[state] = b;
+			for (int i = 0; i < n; i++){
+				check[b + childCodes[i]] = state;
+				this.maxUsed = Math.max(this.maxUsed, b + childCodes[i]);
+			}
+
+			// then place the children of each child
+			for (int i = 0; i < n; i++){
+				if (childCodes[i] != END){
+					this.insert(starts[i], starts[i+1], depth + 1, b + childCodes[i]);
+				}
+			}
+		}
+
+		/**
+		 * Finds a base value for which the slots of all of the given
+		 * codes are free, growing the arrays if necessary.
+		 *
+		 * @param childCodes codes of the children, in increasing order
+		 * @param n number of codes
+		 * @return the base value
+		 */
+		private int findBase(int[] childCodes, int n){
+			while (this.firstFree < check.length && check[this.firstFree] != FREE) this.firstFree++;
+
+			for (int pos = Math.max(this.firstFree, childCodes[0] + 1); ; pos++){
+				this.ensureCapacity(pos + alphabet.length + 1);
+				if (check[pos] != FREE) continue;
+
+				// try to put the first child at pos
+				int b = pos - childCodes[0];
+				boolean fits = true;
+				for (int i = 1; i < n && fits; i++){
+					fits = check[b + childCodes[i]] == FREE;
+				}
+				if (fits) return b;
+			}
+		}
+
+		/**
+		 * Grows the arrays so that they have at least <length> slots.
+		 *
+		 * @param length minimum number of slots
+		 */
+		private void ensureCapacity(int length){
+			if (length <= check.length) return;
+			int old = check.length;
+			int grown = Math.max(length, old * 2);
+			base = Arrays.copyOf(base, grown);
+			check = Arrays.copyOf(check, grown);
+			Arrays.fill(check, old, grown, FREE);
+		}
+	}
+
+	/**
+	 * Reads the words of a text dictionary file, lower-cased, sorted
+	 * and without duplicates.
+	 *
+	 * @param dictFile File object pointing to dictionary text file
+	 * @return the words in the file
+	 */
+	static List<String> readWords(File dictFile){
+		String[] words = new String[0];
+
+		// as in DictionaryList, error-handling for the filename was
+		// already taken care of in the FindWords class
+		try {
+			words = WordLoader.load(dictFile);
+		} catch (IOException e) {
+		}
+
+		// the words come back sorted, so repeats are next to each other
+		ArrayList<String> distinct = new ArrayList<String>(words.length);
+		for (String word : words){
+			if (distinct.isEmpty() || !distinct.get(distinct.size()-1).equals(word)) distinct.add(word);
+		}
+		return distinct;
+	}
+
+	/*BINARY IMAGE*/
+
+	/**
+	 * Writes the arrays of this trie to a binary image file, which can
+	 * be read back with load.
+	 *
+	 * The image holds a header (magic number, format version, number
+	 * of words, alphabet length and array length), the alphabet, and
+	 * then the base and check arrays.
+	 *
+	 * @param image file to write the image to
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(File image) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(this.imageSize());
+		this.writeTo(buffer);
+		buffer.flip();
+
+		FileOutputStream out = new FileOutputStream(image);
+		try {
+			FileChannel channel = out.getChannel();
+			while (buffer.hasRemaining()) channel.write(buffer);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Loads a trie from a binary image file written by save. The whole
+	 * file is read with one bulk read, and the arrays are copied out
+	 * of it without any parsing.
+	 *
+	 * @param image file holding the image
+	 * @return the trie stored in the image
+	 * @throws IOException if the file cannot be read, or is not an image
+	 */
+	public static DictionaryDoubleArray load(File image) throws IOException {
+		FileInputStream in = new FileInputStream(image);
+		try {
+			FileChannel channel = in.getChannel();
+			if (channel.size() > Integer.MAX_VALUE){
+				throw new IOException("<" + image + "> is too large to be an image");
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0);
+			buffer.flip();
+			return readFrom(buffer);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @return the number of bytes writeTo needs
+	 */
+	int imageSize(){
+		return 5 * 4 + this.alphabet.length * 2 + this.base.length * 8;
+	}
+
+	/**
+	 * Writes the image of this trie into a buffer, at its position.
+	 *
+	 * @param buffer buffer with at least imageSize() bytes remaining
+	 */
+	void writeTo(ByteBuffer buffer){
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(this.size);
+		buffer.putInt(this.alphabet.length);
+		buffer.putInt(this.base.length);
+		buffer.asCharBuffer().put(this.alphabet);
+		buffer.position(buffer.position() + this.alphabet.length * 2);
+		IntBuffer ints = buffer.asIntBuffer();
+		ints.put(this.base);
+		ints.put(this.check);
+		buffer.position(buffer.position() + this.base.length * 8);
+	}
+
+	/**
+	 * Reads the image of a trie from a buffer, at its position.
+	 *
+	 * @param buffer buffer holding an image written by writeTo
+	 * @return the trie stored in the image
+	 * @throws IOException if the buffer does not hold an image, or the
+	 * 		   image is truncated or corrupt
+	 */
+	static DictionaryDoubleArray readFrom(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < 5 * 4 || buffer.getInt() != MAGIC){
+			throw new IOException("not a double-array dictionary image");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION){
+			throw new IOException("unsupported double-array image version " + version);
+		}
+
+		// the lengths are checked against what is left of the image before
+		// anything is allocated, so a corrupt header can't ask for huge arrays
+		int size = buffer.getInt();
+		int letters = buffer.getInt();
+		int length = buffer.getInt();
+		// every word ends in a state of its own, besides the root
+		if (size < 0 || letters < 0 || length < 1 || size >= length){
+			throw new IOException("corrupt double-array dictionary image");
+		}
+		if (buffer.remaining() < letters * 2L + length * 8L){
+			throw new IOException("truncated double-array dictionary image");
+		}
+
+		DictionaryDoubleArray dict = new DictionaryDoubleArray();
+		dict.size = size;
+		dict.alphabet = new char[letters];
+		buffer.asCharBuffer().get(dict.alphabet);
+		buffer.position(buffer.position() + letters * 2);
+		for (int i = 1; i < letters; i++){
+			// buildCodes relies on the alphabet being sorted
+			if (dict.alphabet[i-1] >= dict.alphabet[i]){
+				throw new IOException("corrupt double-array dictionary image");
+			}
+		}
+		dict.base = new int[length];
+		dict.check = new int[length];
+		IntBuffer ints = buffer.asIntBuffer();
+		ints.get(dict.base);
+		ints.get(dict.check);
+		buffer.position(buffer.position() + length * 8);
+
+		dict.buildCodes();
+		return dict;
+	}
+}
@@ -16,10 +16,15 @@ import java.util.*;
  * in the dictionary. (i.e., if the dictionary contains the word
  * 'alphabet', the prefix 'alpha' exists in that dictionary).
  * 
+ * The Dictionary can also be created in a packed storage mode, where
+ * the words are kept in a single byte array (see PackedWords) instead
+ * of as separate String objects. This takes several times less memory
+ * per dictionary, and the searches compare the packed bytes in place.
+ * 
  * @author Peter Mountanos
  * @version September 29, 2014
  */
-public class DictionaryList {
+public class DictionaryList implements Dictionary, Iterable<String> {
 	
 	/*FIELDS*/
 
@@ -27,6 +32,9 @@ public class DictionaryList {
 	private File dictFile;
 	/**ArrayList which stores the words in the dictionary*/
 	private ArrayList<String> words = new ArrayList<String>();
+	/**Packed storage of the words, used instead of <words> when
+	 * the dictionary is in packed mode (null otherwise)*/
+	private PackedWords packed;
 	
 	/**
 	 * Constructor method for DictionaryList class
@@ -39,10 +47,33 @@ public class DictionaryList {
 	 * @param dictFile File object pointing to dictionary text file
 	 */
 	public DictionaryList(File dictFile) {
+		this(dictFile, false);
+	}
+	
+	/**
+	 * Constructor method for DictionaryList class, which can choose
+	 * the storage mode of the words.
+	 * 
+	 * @param dictFile File object pointing to dictionary text file
+	 * @param packed if true, the words are stored in packed form (one
+	 * 		  contiguous byte array) rather than as an ArrayList<String>
+	 */
+	public DictionaryList(File dictFile, boolean packed) {
 		this.dictFile = dictFile;
+		if (packed) this.packed = new PackedWords();
 		this.populateDictionary();
 	}
 	
+	/**
+	 * Constructor method for a DictionaryList in packed mode whose
+	 * words were already packed (for example, by a CompiledDictionary).
+	 * 
+	 * @param packed the words, lower-case and sorted
+	 */
+	DictionaryList(PackedWords packed) {
+		this.packed = packed;
+	}
+	
 	/*WRAPPER METHODS*/
 
 	/**
@@ -72,6 +103,7 @@ public class DictionaryList {
 	 * @return the size of the field, words, of type ArrayList
 	 */
 	public int size(){
+		if (this.packed != null) return this.packed.size();
 		return this.words.size();
 	}
 
@@ -82,9 +114,38 @@ public class DictionaryList {
 	 * @return the value stored at index <i> of <this.words>
 	 */
 	public String get(int i){
+		if (this.packed != null) return this.packed.get(i);
 		return this.words.get(i);
 	}
 
+	/**
+	 * Iterator Wrapper Method for Dictionary ArrayList
+	 * 
+	 * @return an iterator over the words, in sorted order
+	 */
+	@Override
+	public Iterator<String> iterator(){
+		return new Iterator<String>(){
+			private int next = 0;
+
+			@Override
+			public boolean hasNext(){
+				return this.next < size();
+			}
+
+			@Override
+			public String next(){
+				if (!this.hasNext()) throw new NoSuchElementException();
+				return get(this.next++);
+			}
+
+			@Override
+			public void remove(){
+				throw new UnsupportedOperationException("the dictionary can't be changed");
+			}
+		};
+	}
+
 	/*INSTANCE METHODS*/
 	/**
 	 * Contains Method for Dictionary ArrayList
@@ -107,15 +168,15 @@ public class DictionaryList {
 		// get midpoint of current slice of array
 		int mid = (min + max) / 2;
 		
-		// get value at midpoint
-		String midWord = this.get(mid);
+		// compare value at midpoint with searchTerm
+		int cmp = this.compareWord(mid, searchTerm);
 
 		// if prefix would be located before midWord, check from [min,mid)
-		if (midWord.compareTo(searchTerm) > 0){
+		if (cmp > 0){
 			return this.contains(searchTerm, min, mid-1);
 		}
 		// if prefix would be located after midWord, check from (mid,max]
-		else if (midWord.compareTo(searchTerm) < 0){
+		else if (cmp < 0){
 			return this.contains(searchTerm, mid+1, max);
 		}
 		// else (if prefix is midWord), prefix is found
@@ -131,6 +192,10 @@ public class DictionaryList {
 	 * the length of the word. This method assumes the list
 	 * <words> is sorted.
 	 * 
+	 * The binary search is iterative, and each probe compares
+	 * the start of the word with the prefix in place, so no
+	 * Strings are created while searching.
+	 * 
 	 * @param prefix, prefix to be search for in <words>
 	 * @param min, minimum index at current slice of <words>
 	 * @param max, maximum index at current slice of <words>
@@ -139,62 +204,148 @@ public class DictionaryList {
 	 */
 	public boolean containsPrefix(String prefix, int min, int max){
 		
-		// base case: if the end index is greater than 
-		// the beginning index, prefix was not found
-		if (max < min) return false;
+		// loop until the slice is empty (prefix was not found)
+		while (min <= max){
 
-		// get midpoint of current slice of array
-		int mid = (min + max) / 2;
-		
-		// get value at midpoint
-		String midWord = this.get(mid);
-		
-		// slice value at midpoint to size of prefix input (may have
-		// duplicate words now, but still sorted, so binary search 
-		// still gives accurate results)
-		String prefixMidWord = midWord.substring(0,prefix.length());
+			// get midpoint of current slice of array
+			int mid = (min + max) >>> 1;
+			int cmp = this.comparePrefix(mid, prefix);
 
-		// if prefix would be located before midWord, check from [min,mid)
-		if (prefixMidWord.compareTo(prefix) > 0){
-			return this.containsPrefix(prefix, min, mid-1);
+			// if prefix would be located before midWord, check from [min,mid)
+			if (cmp > 0) max = mid - 1;
+			// if prefix would be located after midWord, check from (mid,max]
+			else if (cmp < 0) min = mid + 1;
+			// else (if prefix is the start of midWord), prefix is found
+			else return true;
 		}
-		// if prefix would be located after midWord, check from (mid,max]
-		else if (prefixMidWord.compareTo(prefix) < 0){
-			return this.containsPrefix(prefix, mid+1, max);
+		return false;
+	}
+	
+	/**
+	 * Method which finds the range of indices of the words starting
+	 * with a certain prefix. Since <words> is sorted, all of those
+	 * words sit next to each other, in the range [lo, hi). The range
+	 * is empty (lo == hi) if no word starts with the prefix.
+	 * 
+	 * @param prefix, prefix to be search for in <words>
+	 * @return an array {lo, hi} holding the range of matching indices
+	 */
+	public int[] prefixRange(String prefix){
+		return new int[] {this.prefixStart(prefix), this.prefixEnd(prefix)};
+	}
+	
+	/**
+	 * Method which counts the words starting with a certain prefix.
+	 * 
+	 * @param prefix, prefix to be search for in <words>
+	 * @return number of words in the dictionary with prefix <prefix>
+	 */
+	public int countPrefix(String prefix){
+		return this.prefixEnd(prefix) - this.prefixStart(prefix);
+	}
+	
+	/**
+	 * Method which finds the index of the first word that starts with
+	 * <prefix> (or, if there is none, where such a word would go).
+	 * 
+	 * @param prefix, prefix to be search for in <words>
+	 * @return the lowest index whose word does not sort before <prefix>
+	 */
+	public int prefixStart(String prefix){
+		int lo = 0, hi = this.size();
+		while (lo < hi){
+			int mid = (lo + hi) >>> 1;
+			if (this.comparePrefix(mid, prefix) < 0) lo = mid + 1;
+			else hi = mid;
 		}
-		// else (if prefix is midWord), prefix is found
-		return true;
+		return lo;
+	}
+	
+	/**
+	 * Method which finds the index just past the last word that
+	 * starts with <prefix>.
+	 * 
+	 * @param prefix, prefix to be search for in <words>
+	 * @return the lowest index whose word sorts after every word
+	 * 		   starting with <prefix>
+	 */
+	public int prefixEnd(String prefix){
+		int lo = 0, hi = this.size();
+		while (lo < hi){
+			int mid = (lo + hi) >>> 1;
+			if (this.comparePrefix(mid, prefix) <= 0) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+	
+	/**
+	 * Helper method which compares the word at index <i> with
+	 * searchTerm, without creating a String in packed mode.
+	 * 
+	 * @param i index of the word to compare
+	 * @param searchTerm word being searched for
+	 * @return negative, zero, or positive as the word at <i> is
+	 * 		   less than, equal to, or greater than searchTerm
+	 */
+	private int compareWord(int i, String searchTerm){
+		if (this.packed != null) return this.packed.compare(i, searchTerm);
+		return this.get(i).compareTo(searchTerm);
+	}
+	
+	/**
+	 * Helper method which compares the first prefix.length() letters
+	 * of the word at index <i> with prefix, without creating a String.
+	 * A word shorter than the prefix is compared as a whole.
+	 * 
+	 * @param i index of the word to compare
+	 * @param prefix prefix being searched for
+	 * @return negative, zero, or positive as the start of the word at
+	 * 		   <i> is less than, equal to, or greater than prefix
+	 */
+	private int comparePrefix(int i, String prefix){
+		if (this.packed != null) return this.packed.comparePrefix(i, prefix);
+
+		String word = this.get(i);
+		for (int k = 0; k < prefix.length(); k++){
+			// word ran out first, so it sorts before the prefix
+			if (k == word.length()) return -1;
+			int diff = word.charAt(k) - prefix.charAt(k);
+			if (diff != 0) return diff;
+		}
+		return 0;
 	}
 	
 	/**
 	 * Method which populates the Dictionary ArrayList, <words>,
 	 * using a text file path given by the dictFile field.
 	 * 
-	 * This method scans the text file line by line, and adds words into
-	 * the ArrayList. This method assumes that the text file contains a
-	 * sorted list of words, one per line.
+	 * The words are read with a WordLoader, which reads large files
+	 * with several threads, and returns the words sorted, sorting them
+	 * if the file wasn't. So the binary searches give the right answers
+	 * whatever order the file is in.
 	 * 
 	 * @return void
 	 */
 	public void populateDictionary(){
 		
-		Scanner scan = null; // initialize scanner object to null
-		
 		// need try-catch by constructs of java, but error-handling
 		// was already taken care of in the FindWords class when filename
 		// was accepted as command line input
 		try { 
-			scan = new Scanner(this.dictFile);
-			while (scan.hasNext()){
-				// add words line-by-line, as lower-case (assumes string input
-				// is lower-case => facilitates search process)
-				this.words.add(scan.next().toLowerCase());
+			// words come back lower-case (assumes string input is
+			// lower-case => facilitates search process)
+			String[] words = WordLoader.load(this.dictFile);
+			if (this.packed != null){
+				for (String word : words){
+					this.packed.add(word);
+				}
+				this.packed.trim();
+			}
+			else {
+				this.words.addAll(Arrays.asList(words));
 			}
-		} catch (FileNotFoundException e) {
+		} catch (IOException e) {
 		}// error already handled in FindWords;
-		finally {
-			scan.close();
-		}
 	}
 }
-
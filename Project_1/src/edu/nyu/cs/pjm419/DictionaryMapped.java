@@ -0,0 +1,247 @@
+package edu.nyu.cs.pjm419;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+/**
+ * Class which provides an ADT for a Dictionary Representation that
+ * is backed directly by a memory-mapped dictionary file.
+ *
+ * Rather than reading the file word by word into String objects (as
+ * DictionaryList does), the whole file is mapped into memory with
+ * FileChannel.map, and only the starting offset of each word is
+ * recorded. All of the searching is then done with a binary search
+ * that compares the search term against the mapped bytes in place,
+ * so loading the dictionary allocates no per-word Strings, and the
+ * mapped pages can be shared by every JVM that maps the same file.
+ *
+ * The dictionary file is expected to hold single-byte (ASCII) text,
+ * with a sorted list of words separated by whitespace (one per line).
+ * Upper case letters are treated as lower case while searching, which
+ * matches the lower-casing DictionaryList performs while loading.
+ *
+ * Searches only use absolute reads of the mapping, which don't move
+ * its position, so the dictionary may be searched by several threads
+ * at once.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class DictionaryMapped implements Dictionary {
+
+	/*FIELDS*/
+
+	/**File object pointing to the text file of the dictionary*/
+	private File dictFile;
+	/**Read-only mapping of the entire dictionary file*/
+	private MappedByteBuffer buffer;
+	/**Offset into <buffer> of the first byte of each word, in order*/
+	private int[] starts = new int[0];
+
+	/**
+	 * Constructor method for DictionaryMapped class
+	 *
+	 * Instantiates a <DictionaryMapped> object, with a single
+	 * parameter of file object. It then calls a helper method
+	 * to map the file into memory and locate each word in it.
+	 *
+	 * @param dictFile File object pointing to dictionary text file
+	 */
+	public DictionaryMapped(File dictFile) {
+		this.dictFile = dictFile;
+		this.mapDictionary();
+	}
+
+	/*WRAPPER METHODS*/
+
+	/**
+	 * Contains Wrapper Method
+	 *
+	 * @param searchTerm, string to search for in the dictionary
+	 * @return true if dictionary contains searchTerm, false otherwise
+	 */
+	public boolean contains(String searchTerm){
+		return contains(searchTerm, 0, this.size()-1);
+	}
+
+	/**
+	 * ContainsPrefix Wrapper Method
+	 *
+	 * @param searchTerm, prefix to search for in the dictionary
+	 * @return true if the dictionary contains a word with prefix
+	 * 		   <searchTerm>, false otherwise
+	 */
+	public boolean containsPrefix(String searchTerm){
+		return containsPrefix(searchTerm, 0, this.size()-1);
+	}
+
+	/**
+	 * Size Method for the mapped dictionary
+	 *
+	 * @return the number of words found in the mapped file
+	 */
+	public int size(){
+		return this.starts.length;
+	}
+
+	/**
+	 * Get Method for the mapped dictionary. Unlike the search
+	 * methods, this does create a new String for the word.
+	 *
+	 * @param i index of the word to be obtained
+	 * @return the (lower case) word stored at index <i>
+	 */
+	public String get(int i){
+		StringBuilder word = new StringBuilder();
+		for (int pos = this.starts[i]; !this.isBoundary(pos); pos++){
+			word.append(this.charAt(pos));
+		}
+		return word.toString();
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Contains Method for the mapped dictionary
+	 *
+	 * Implemented via Binary Search over the word offsets. This
+	 * method determines if searchTerm exists as a word in the
+	 * mapped file, comparing it to the mapped bytes in place.
+	 *
+	 * @param searchTerm word to be searched for
+	 * @param min, minimum word index of the current slice
+	 * @param max, maximum word index of the current slice
+	 * @return true if searchTerm is in the dictionary, false otherwise
+	 */
+	public boolean contains(String searchTerm, int min, int max){
+		while (min <= max){
+			int mid = (min + max) >>> 1;
+			int cmp = this.compare(mid, searchTerm, false);
+
+			// word at mid is after searchTerm, check from [min,mid)
+			if (cmp > 0) max = mid - 1;
+			// word at mid is before searchTerm, check from (mid,max]
+			else if (cmp < 0) min = mid + 1;
+			// else word at mid is searchTerm
+			else return true;
+		}
+		return false;
+	}
+
+	/**
+	 * ContainsPrefix Method for the mapped dictionary
+	 *
+	 * This method determines if a certain prefix exists in the
+	 * mapped file, comparing only the first prefix.length() bytes
+	 * of each probed word against the prefix.
+	 *
+	 * @param prefix, prefix to be search for
+	 * @param min, minimum word index of the current slice
+	 * @param max, maximum word index of the current slice
+	 * @return true if prefix exists as a prefix in the dictionary,
+	 * 		   false otherwise
+	 */
+	public boolean containsPrefix(String prefix, int min, int max){
+		while (min <= max){
+			int mid = (min + max) >>> 1;
+			int cmp = this.compare(mid, prefix, true);
+
+			if (cmp > 0) max = mid - 1;
+			else if (cmp < 0) min = mid + 1;
+			else return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Helper method which compares the word at index <i> with a key,
+	 * the same way String.compareTo would compare the (lower case)
+	 * word with the key.
+	 *
+	 * @param i index of the word to compare
+	 * @param key the search term
+	 * @param prefixOnly if true, only the first key.length() characters
+	 * 		  of the word are compared (i.e., the word is cut down to
+	 * 		  the length of the key, like substring in DictionaryList)
+	 * @return negative, zero, or positive as the word is less than,
+	 * 		   equal to, or greater than the key
+	 */
+	private int compare(int i, String key, boolean prefixOnly){
+		int pos = this.starts[i];
+		for (int k = 0; k < key.length(); k++, pos++){
+			// word ran out first, so it sorts before the key
+			if (this.isBoundary(pos)) return -1;
+			int diff = this.charAt(pos) - key.charAt(k);
+			if (diff != 0) return diff;
+		}
+		// key ran out; a longer word sorts after it unless only the prefix matters
+		if (prefixOnly || this.isBoundary(pos)) return 0;
+		return 1;
+	}
+
+	/**
+	 * Helper method to determine whether a position in the mapping is
+	 * past the end of a word (end of file, or a whitespace byte).
+	 *
+	 * @param pos position in the mapping
+	 * @return true if no word character is stored at <pos>
+	 */
+	private boolean isBoundary(int pos){
+		return pos >= this.buffer.limit() || (this.buffer.get(pos) & 0xff) <= ' ';
+	}
+
+	/**
+	 * Helper method to read the byte at a position in the mapping
+	 * as a lower case character.
+	 *
+	 * @param pos position in the mapping
+	 * @return the lower case character stored at <pos>
+	 */
+	private char charAt(int pos){
+		char ch = (char) (this.buffer.get(pos) & 0xff);
+		if (ch >= 'A' && ch <= 'Z') ch += 'a' - 'A';
+		return ch;
+	}
+
+	/**
+	 * Method which maps the dictionary file given by the dictFile field
+	 * into memory, and records the starting offset of every word.
+	 *
+	 * The mapping is scanned twice: once to count the words, so the
+	 * offset table can be allocated at its exact size, and once to
+	 * fill it in. This method assumes that the text file contains a
+	 * sorted list of words, one per line.
+	 */
+	private void mapDictionary(){
+
+		RandomAccessFile file = null;
+
+		// as in DictionaryList, error-handling for the filename was already
+		// taken care of in the FindWords class, so an unreadable file just
+		// leaves the dictionary empty
+		try {
+			file = new RandomAccessFile(this.dictFile, "r");
+			FileChannel channel = file.getChannel();
+			// the mapping stays valid after the channel is closed
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			return;
+		} finally {
+			if (file != null) {
+				try { file.close(); } catch (IOException e) {}
+			}
+		}
+
+		// first pass: count the words
+		int count = 0;
+		for (int pos = 0; pos < this.buffer.limit(); pos++){
+			if (!this.isBoundary(pos) && (pos == 0 || this.isBoundary(pos-1))) count++;
+		}
+
+		// second pass: record where each word starts
+		this.starts = new int[count];
+		count = 0;
+		for (int pos = 0; pos < this.buffer.limit(); pos++){
+			if (!this.isBoundary(pos) && (pos == 0 || this.isBoundary(pos-1))) this.starts[count++] = pos;
+		}
+	}
+}
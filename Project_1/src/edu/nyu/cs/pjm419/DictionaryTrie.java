@@ -0,0 +1,176 @@
+package edu.nyu.cs.pjm419;
+import java.io.*;
+import java.util.*;
+/**
+ * Class which provides an ADT for a Dictionary Representation.
+ * The Dictionary is implemented using a trie tree, where each path
+ * from the root spells out the start of one or more words, and the
+ * node at the end of every complete word is marked as such.
+ *
+ * Looking up a word (or a prefix) takes time proportional to its
+ * length, rather than the O(log(n)) string comparisons of the binary
+ * search in DictionaryList. The nodes (see TrieNode) only store the
+ * children they actually have, so any characters can be stored, and
+ * the trie takes far less memory than one with 26 children per node.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class DictionaryTrie implements Dictionary, Iterable<String> {
+
+	/*FIELDS*/
+
+	/**File object pointing to the text file of the dictionary*/
+	private File dictFile;
+	/**Root node of the trie, which represents the empty string*/
+	private TrieNode root = new TrieNode();
+	/**Number of distinct words stored in the trie*/
+	private int size = 0;
+
+	/**
+	 * Constructor method for DictionaryTrie class
+	 *
+	 * Instantiates a <DictionaryTrie> object, with a single
+	 * parameter of file object. It then calls a helper method
+	 * to populate the Dictionary with the words from the given
+	 * text file.
+	 *
+	 * @param dictFile File object pointing to dictionary text file
+	 */
+	public DictionaryTrie(File dictFile) {
+		this.dictFile = dictFile;
+		this.populateDictionary();
+	}
+
+	/*GETTERS*/
+
+	/**
+	 * @return the root node of the trie, so that searches in this
+	 * 		   package can walk the trie one letter at a time
+	 */
+	TrieNode getRoot(){
+		return this.root;
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Inserts a word into the trie. Inserting a word that is
+	 * already in the trie does not change it.
+	 *
+	 * @param word word to be inserted
+	 */
+	public void insert(String word){
+		TrieNode current = this.root;
+
+		// for each character in the word, follow (or add) its child
+		for (int i = 0; i < word.length(); i++){
+			current = current.addChild(word.charAt(i));
+		}
+
+		// only count the word the first time it is inserted
+		if (!current.completesWord()){
+			current.setCompletesWord(true);
+			this.size++;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#contains(java.lang.String)
+	 */
+	@Override
+	public boolean contains(String word){
+		TrieNode node = this.find(word);
+		return node != null && node.completesWord();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#containsPrefix(java.lang.String)
+	 */
+	@Override
+	public boolean containsPrefix(String prefix){
+		// every node in the trie lies on the path to at least one word
+		return this.size > 0 && this.find(prefix) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.Dictionary#size()
+	 */
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 * Method to generate an iterator over the words of the trie. The
+	 * words are collected by walking the trie when this is called.
+	 *
+	 * @return an iterator over the words, in sorted order
+	 */
+	@Override
+	public Iterator<String> iterator(){
+		ArrayList<String> words = new ArrayList<String>(this.size);
+		this.collectWords(this.root, new StringBuilder(), words);
+		return Collections.unmodifiableList(words).iterator();
+	}
+
+	/**
+	 * Recursive helper method which adds the words below a node
+	 * to a list, in sorted order.
+	 *
+	 * @param node node reached by <prefix>
+	 * @param prefix letters on the path to <node>
+	 * @param words list the words are added to
+	 */
+	private void collectWords(TrieNode node, StringBuilder prefix, List<String> words){
+		if (node.completesWord()) words.add(prefix.toString());
+		for (int i = 0; i < node.childCount(); i++){
+			prefix.append(node.getLabel(i));
+			this.collectWords(node.getChildAt(i), prefix, words);
+			prefix.setLength(prefix.length() - 1);
+		}
+	}
+
+	/**
+	 * Helper method which follows the path spelled out by a string
+	 * from the root of the trie.
+	 *
+	 * @param s string to follow
+	 * @return the node at the end of the path, or null if the
+	 * 		   trie has no such path
+	 */
+	private TrieNode find(String s){
+		TrieNode current = this.root;
+		for (int i = 0; i < s.length() && current != null; i++){
+			current = current.getChild(s.charAt(i));
+		}
+		return current;
+	}
+
+	/**
+	 * Method which populates the trie using a text file path given
+	 * by the dictFile field. Words are inserted as lower-case, the
+	 * same as DictionaryList stores them.
+	 */
+	public void populateDictionary(){
+
+		Scanner scan = null; // initialize scanner object to null
+
+		// need try-catch by constructs of java, but error-handling
+		// was already taken care of in the FindWords class when filename
+		// was accepted as command line input
+		try {
+			scan = new Scanner(this.dictFile);
+			while (scan.hasNext()){
+				this.insert(scan.next().toLowerCase());
+			}
+		} catch (FileNotFoundException e) {
+		}// error already handled in FindWords;
+		finally {
+			if (scan != null) scan.close();
+		}
+	}
+}
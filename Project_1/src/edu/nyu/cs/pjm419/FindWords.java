@@ -1,6 +1,7 @@
 package edu.nyu.cs.pjm419;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 /**
  * Class which provides a user interface for the FindWords program.
  * The program needs to be called with a single command line argument
@@ -10,12 +11,80 @@ import java.util.*;
  * all of the possible words that can be created from those letters, which 
  * also are present in the dictionary.
  * 
+ * An optional second command line argument selects how the words are found:
+ *  - permute (the default): every permutation of the letters is looked up
+ *    in a DictionaryList (at most 10 letters, see SetOfLetters)
+ *  - prune: the permutations are pruned by prefix while walking a
+ *    DictionaryTrie (see SetOfLetters)
+ *  - scan: the whole DictionaryList is scanned with a LetterFilter
+ *  - bloom: as prune, but on a DictionaryList wrapped in a
+ *    BloomDictionary, which rejects most dead prefixes, and most
+ *    permutations that aren't words, without searching the list
+ *  - anagram: the words of the DictionaryList are indexed by their sorted
+ *    letters once, when it is loaded, and each subset of the letters is
+ *    then a single lookup (see AnagramIndex)
+ * Only permute is limited to 10 letters; the time taken by prune, scan
+ * and bloom is bounded by the size of the dictionary rather than by n!,
+ * and anagram makes at most 2^n lookups, so it takes up to 20. Scan,
+ * bloom and anagram need the words as a DictionaryList.
+ * 
+ * Given "batch" as a third command line argument, the program instead
+ * reads many sets of letters, one per line, from the file named by the
+ * fourth argument (or from standard input if there is none), and solves
+ * them all with the dictionary loaded only once (see solveBatch).
+ * Given "server" instead, it keeps the dictionary loaded and answers
+ * lookups over a local socket (see DictionaryServer), on the port given
+ * by the fourth argument, if there is one.
+ * 
+ * Given "compile", the dictionary is compiled into the binary file named
+ * by the fourth argument (see CompiledDictionary). A compiled dictionary
+ * can then be given in place of the text one, and loads much faster.
+ * 
  * Note: The extra credit *has* been implemented
  * 
  * @author Peter Mountanos (pjm419)
  * @version  September 29, 2014 
  */
 public class FindWords {
+
+	/*CONSTANTS*/
+	/**Names of the solvers that can be selected on the command line*/
+	public static final String PERMUTE = "permute";
+	public static final String PRUNE = "prune";
+	public static final String SCAN = "scan";
+	public static final String BLOOM = "bloom";
+	/**False-positive rate of the filters of the bloom solver*/
+	public static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+	public static final String ANAGRAM = "anagram";
+	/**Maximum number of letters the permute solver accepts*/
+	public static final int MAX_PERMUTE_LETTERS = 10;
+	/**Maximum number of letters the anagram solver accepts*/
+	public static final int MAX_ANAGRAM_LETTERS = 20;
+	/**Command line arguments selecting batch mode and server mode*/
+	public static final String BATCH = "batch";
+	public static final String SERVER = "server";
+	public static final String COMPILE = "compile";
+	/**Largest port number a server may listen on*/
+	public static final int MAX_PORT = 65535;
+	/**Number of letter sets queued per worker thread in batch mode*/
+	private static final int BATCH_QUEUE_PER_THREAD = 64;
+	/**Usage message*/
+	private static final String USAGE =
+			"Usage:\t FindWords <dictionaryFileName> [permute|prune|scan|bloom|anagram] [batch [lettersFileName] | server [port] | compile <compiledFileName>]\n\n";
+	/**WordSink which prints each word it receives, one per line*/
+	private static final WordSink PRINT_WORDS = new WordSink(){
+		@Override
+		public boolean accept(String word){
+			System.out.println(word);
+			return true;
+		}
+
+		@Override
+		public boolean shouldStop(){
+			return false;
+		}
+	};
+
 	/**
 	 * Main Method for FindWords. It is responsible for the
 	 * execution of the entire program.
@@ -23,31 +92,109 @@ public class FindWords {
 	 * @param args an array containing command line arguments
 	 * 		  the program expects one command line argument, 
 	 *        which contains the name of the file of the dict-
-	 *        ionary to be used.
+	 *        ionary to be used, optionally followed by the name
+	 *        of the solver to use, and by "batch" and the name of
+	 *        the file of letter sets for batch mode, by "server"
+	 *        and the port for server mode, or by "compile" and the
+	 *        name of the compiled file to write.
 	 */
 	public static void main(String[] args) {
-		// validate command-line argument
-		if (args.length < 1){
-			System.err.printf("Error:\t invalid number of  arguments\n"
-					+ "Usage:\t FindWords <dictionaryFileName>\n\n");
-			System.exit(1);
-		}
-		else if (!new File(args[0]).exists()){
-			System.err.printf("Error:\t the filename given as command line input could not be found\n\n");
+		// validate command-line arguments
+		String error = checkArguments(args);
+		if (error != null){
+			System.err.print("Error:\t " + error);
 			System.exit(1);
 		}
+		String solver = args.length > 1 ? args[1].toLowerCase() : PERMUTE;
+		String mode = args.length > 2 ? args[2].toLowerCase() : null;
 		
 		// instantiate file object
 		File dictFile = new File(args[0]);
-		// instantiate DictionaryList object to store vocabulary based on dictFile input
-		DictionaryList wordDict = new DictionaryList(dictFile);
+		if (COMPILE.equals(mode)){
+			try {
+				CompiledDictionary.compile(dictFile, new File(args[3]), true);
+			} catch (IOException e) {
+				System.err.printf("Error:\t compiling failed: %s\n\n", e.getMessage());
+				System.exit(1);
+			} catch (IllegalArgumentException e) {
+				// e.g. a dictionary too large for the buffer the compiled file is built in
+				System.err.printf("Error:\t compiling failed: %s\n\n", e.getMessage());
+				System.exit(1);
+			}
+			return;
+		}
+
+		// instantiate Dictionary object to store vocabulary based on dictFile input
+		// (the pruned search walks a trie, the others use the sorted list)
+		Dictionary wordDict = null;
+		if (CompiledDictionary.isCompiled(dictFile)){
+			try {
+				CompiledDictionary compiled = CompiledDictionary.load(dictFile);
+				if (solver.equals(PRUNE) && compiled.getTrie() != null) wordDict = compiled.getTrie();
+				else wordDict = compiled.getList();
+			} catch (IOException e) {
+				System.err.printf("Error:\t %s\n\n", e.getMessage());
+				System.exit(1);
+			}
+		}
+		else if (solver.equals(PRUNE)) wordDict = new DictionaryTrie(dictFile);
+		else wordDict = new DictionaryList(dictFile);
+		if (needsList(solver) && !(wordDict instanceof DictionaryList)){
+			System.err.printf("Error:\t the %s solver needs a word list, which <%s> doesn't hold\n%s",
+					solver, dictFile, USAGE);
+			System.exit(1);
+		}
+		// the bloom solver looks the prefixes and permutations up through Bloom filters
+		if (solver.equals(BLOOM)) wordDict = new BloomDictionary((DictionaryList) wordDict, BLOOM_FALSE_POSITIVE_RATE);
 		
 		// only run program if there's a dictionary with stuff in it
 		if (wordDict.size() > 0){
-			// instantiate SetOfLetters object to store user input string
-			SetOfLetters letterSet = new SetOfLetters(getUserInput(), wordDict);
-			// print sorted list of permutations to console
-			letterSet.printPermutations();
+			if (SERVER.equals(mode)){
+				// answer lookups until the process is stopped
+				int port = args.length > 3 ? Integer.parseInt(args[3]) : DictionaryServer.DEFAULT_PORT;
+				try {
+					DictionaryServer server = new DictionaryServer(wordDict, port);
+					System.out.printf("Serving <%s> on localhost port %d\n", dictFile, server.getPort());
+					server.serve();
+				} catch (IOException e) {
+					System.err.printf("Error:\t server failed: %s\n\n", e.getMessage());
+					System.exit(1);
+				}
+			}
+			else if (BATCH.equals(mode)){
+				// answer every letter set of the file (or of standard input)
+				Reader in = null;
+				try {
+					in = args.length > 3 ? new FileReader(args[3]) : new InputStreamReader(System.in);
+					Writer out = new OutputStreamWriter(System.out);
+					solveBatch(solver, wordDict, new BufferedReader(in), out);
+				} catch (IOException e) {
+					System.err.printf("Error:\t batch failed: %s\n\n", e.getMessage());
+					System.exit(1);
+				}
+				finally {
+					try {
+						if (in != null) in.close();
+					} catch (IOException e) {
+					}
+				}
+			}
+			else if (solver.equals(SCAN)){
+				// scan the dictionary for words made from the user's letters
+				LetterFilter filter = new LetterFilter((DictionaryList) wordDict);
+				printWords(filter.findWords(getUserInput(Integer.MAX_VALUE)));
+			}
+			else if (solver.equals(ANAGRAM)){
+				// look the subsets of the user's letters up in the index
+				AnagramIndex index = new AnagramIndex((DictionaryList) wordDict);
+				printWords(index.findWords(getUserInput(MAX_ANAGRAM_LETTERS)));
+			}
+			else {
+				// print the sorted words to console as the search finds them
+				boolean prune = solver.equals(PRUNE) || solver.equals(BLOOM);
+				int maxLetters = prune ? Integer.MAX_VALUE : MAX_PERMUTE_LETTERS;
+				SetOfLetters.search(getUserInput(maxLetters), wordDict, prune, PRINT_WORDS);
+			}
 		}
 		else {
 			System.err.println("<"+dictFile+"> is an empty dictionary. Try again with a useful dictionary.");
@@ -56,6 +203,58 @@ public class FindWords {
 		
 	}
 	
+	/**
+	 * Method which validates the command line arguments of the program
+	 * (see main), without acting on them.
+	 * 
+	 * @param args the command line arguments
+	 * @return a message saying what is wrong with the arguments (ending
+	 * 		   with a blank line), or null if they are valid
+	 */
+	public static String checkArguments(String[] args){
+		if (args.length < 1){
+			return "invalid number of  arguments\n" + USAGE;
+		}
+		
+		// validate solver argument
+		String solver = args.length > 1 ? args[1].toLowerCase() : PERMUTE;
+		if (!solver.equals(PERMUTE) && !solver.equals(PRUNE) && !solver.equals(SCAN) && !solver.equals(BLOOM)
+				&& !solver.equals(ANAGRAM)){
+			return "unknown solver \"" + args[1] + "\"\n" + USAGE;
+		}
+		
+		// validate mode arguments (there may be no mode)
+		String mode = args.length > 2 ? args[2].toLowerCase() : null;
+		if (mode != null && !mode.equals(BATCH) && !mode.equals(SERVER) && !mode.equals(COMPILE)){
+			return "unknown mode \"" + args[2] + "\"\n" + USAGE;
+		}
+		if (COMPILE.equals(mode) && args.length < 4){
+			return "compile needs the name of the compiled file\n" + USAGE;
+		}
+		if (SERVER.equals(mode) && args.length > 3
+				&& (!args[3].matches("\\d{1,5}") || Integer.parseInt(args[3]) > MAX_PORT)){
+			return "\"" + args[3] + "\" is not a port number\n\n";
+		}
+		if (BATCH.equals(mode) && args.length > 3 && !new File(args[3]).exists()){
+			return "the letters file \"" + args[3] + "\" could not be found\n\n";
+		}
+		if (!new File(args[0]).exists()){
+			return "the filename given as command line input could not be found\n\n";
+		}
+		return null;
+	}
+	
+	/**
+	 * Method to determine whether a solver works on the words as a
+	 * DictionaryList (rather than on any Dictionary).
+	 * 
+	 * @param solver name of the solver
+	 * @return true if <solver> needs a DictionaryList
+	 */
+	private static boolean needsList(String solver){
+		return solver.equals(SCAN) || solver.equals(BLOOM) || solver.equals(ANAGRAM);
+	}
+
 	/**
 	 * Function that obtains string of letters from user input.
 	 * 
@@ -67,14 +266,29 @@ public class FindWords {
 	 * @return string representing lower case letters to be permuted
 	 */
 	public static String getUserInput(){
+		return getUserInput(MAX_PERMUTE_LETTERS);
+	}
+	
+	/**
+	 * Function that obtains string of letters from user input, where
+	 * the string must contain only letters, and its length must be in
+	 * the range [2,maxLetters].
+	 * 
+	 * @param maxLetters the largest number of letters accepted
+	 * @return string representing lower case letters to be permuted
+	 */
+	public static String getUserInput(int maxLetters){
 		// get user input
 		Scanner scan = new Scanner(System.in);
-		System.out.println("Please enter a string of 2-10 characters  (letters only, no spaces, commas, or any other characters).");
+		if (maxLetters == Integer.MAX_VALUE)
+			System.out.println("Please enter a string of at least 2 characters  (letters only, no spaces, commas, or any other characters).");
+		else
+			System.out.println("Please enter a string of 2-" + maxLetters + " characters  (letters only, no spaces, commas, or any other characters).");
 		String letters = scan.nextLine();
 		scan.close();
 		
 		// validate user input
-		if (letters.length() < 2 || letters.length() > 10){
+		if (letters.length() < 2 || letters.length() > maxLetters){
 			System.err.printf("Error: \"%s\" has incorrect number of letters\n\n", letters);
 			System.exit(1);
 		}
@@ -87,6 +301,154 @@ public class FindWords {
 		return letters.toLowerCase();
 	}
 	
+	/**
+	 * Helper method to print out a sorted list of words,
+	 * one per line.
+	 * 
+	 * @param words list of words to be printed
+	 */
+	public static void printWords(List<String> words){
+		for (String word : words){
+			System.out.println(word);
+		}
+	}
+	
+	/**
+	 * Method which solves a batch of letter sets, one per line of <in>,
+	 * with the same dictionary. The sets are solved on a pool of worker
+	 * threads, one per processor, and each result is written to <out> as
+	 * soon as it is done, so results come in the order they complete
+	 * rather than the order of the input. A result is one line: the
+	 * letters, a colon, and the words found, separated by spaces.
+	 * 
+	 * After each set is read, the results that are done already are
+	 * written; a result is only waited for if the queue of sets is full.
+	 * <out> is buffered, but whenever no more input is ready (such as
+	 * when the sets are typed, or come from a pipe), every set still being
+	 * solved is waited for, and <out> is flushed, before the next read,
+	 * so no result is held back until the end of the input.
+	 * 
+	 * Blank lines are skipped, and lines that aren't a valid set of
+	 * letters for the solver are reported on System.err and skipped.
+	 * 
+	 * @param solver name of the solver to use
+	 * @param wordDict dictionary of the allowable words (a DictionaryList
+	 * 		  for scan and anagram, which may be wrapped in a
+	 * 		  BloomDictionary for bloom; for anagram, the index is built
+	 * 		  from it before any set is read)
+	 * @param in reader of the letter sets
+	 * @param out writer the results are written to
+	 * @throws IOException if <in> can't be read or <out> written
+	 * @throws IllegalArgumentException if the solver is scan or anagram,
+	 * 		   and <wordDict> is not a DictionaryList
+	 */
+	public static void solveBatch(final String solver, final Dictionary wordDict, BufferedReader in, Writer out)
+			throws IOException {
+		if ((solver.equals(SCAN) || solver.equals(ANAGRAM)) && !(wordDict instanceof DictionaryList)){
+			throw new IllegalArgumentException("the " + solver + " solver needs a DictionaryList");
+		}
+		final boolean prune = solver.equals(PRUNE) || solver.equals(BLOOM);
+		final LetterFilter filter = solver.equals(SCAN) ? new LetterFilter((DictionaryList) wordDict) : null;
+		final AnagramIndex index = solver.equals(ANAGRAM) ? new AnagramIndex((DictionaryList) wordDict) : null;
+		int maxLetters = solver.equals(PERMUTE) ? MAX_PERMUTE_LETTERS
+				: solver.equals(ANAGRAM) ? MAX_ANAGRAM_LETTERS : Integer.MAX_VALUE;
+
+		int threads = Runtime.getRuntime().availableProcessors();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CompletionService<String> results = new ExecutorCompletionService<String>(pool);
+		// only a bounded number of sets are queued, so the input is read as the results are written
+		int maxPending = threads * BATCH_QUEUE_PER_THREAD;
+		int pending = 0;
+		BufferedWriter writer = new BufferedWriter(out);
+
+		try {
+			String line;
+			while ((line = in.readLine()) != null){
+				final String letters = line.trim().toLowerCase();
+				if (letters.length() < 2 || letters.length() > maxLetters || !isLetters(letters)){
+					// blank lines are skipped quietly
+					if (!letters.isEmpty()) System.err.printf("Error: \"%s\" is not a valid set of letters\n", line);
+				}
+				else {
+					results.submit(new Callable<String>(){
+						@Override
+						public String call(){
+							List<String> words = filter != null ? filter.findWords(letters)
+									: index != null ? index.findWords(letters)
+									: new SetOfLetters(letters, wordDict, prune).getPermutations();
+							StringBuilder result = new StringBuilder(letters).append(':');
+							for (String word : words){
+								result.append(' ').append(word);
+							}
+							return result.toString();
+						}
+					});
+					pending++;
+				}
+
+				// write the results that are done, waiting for one only if the queue is full
+				for (Future<String> done = results.poll(); done != null; done = results.poll()){
+					writeResult(done, writer);
+					pending--;
+				}
+				if (pending == maxPending){
+					writeResult(nextResult(results), writer);
+					pending--;
+				}
+				// before waiting for more input, write everything still being solved
+				if (!in.ready()){
+					for (; pending > 0; pending--){
+						writeResult(nextResult(results), writer);
+					}
+					writer.flush();
+				}
+			}
+			for (; pending > 0; pending--){
+				writeResult(nextResult(results), writer);
+			}
+			writer.flush();
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Helper method which waits for the next result of a batch to
+	 * complete.
+	 * 
+	 * @param results results of the batch
+	 * @return the next result to complete
+	 * @throws IOException if the wait is interrupted
+	 */
+	private static Future<String> nextResult(CompletionService<String> results) throws IOException {
+		try {
+			return results.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while waiting for a result");
+		}
+	}
+
+	/**
+	 * Helper method which writes a completed result of a batch as a line.
+	 * 
+	 * @param result the completed result
+	 * @param writer writer the result is written to
+	 * @throws IOException if the result can't be written
+	 */
+	private static void writeResult(Future<String> result, BufferedWriter writer) throws IOException {
+		try {
+			writer.write(result.get());
+			writer.newLine();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while waiting for a result");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("solving a letter set failed", e.getCause());
+		}
+	}
+	
 	/**
 	 * Helper method to determine if a string contains only
 	 * letters. 
@@ -0,0 +1,172 @@
+package edu.nyu.cs.pjm419;
+import java.util.ArrayList;
+/**
+ * Class which finds the words of a dictionary that can be made from
+ * a set of letters by scanning the whole dictionary, rather than by
+ * permuting the letters.
+ *
+ * For every word of the dictionary, two summaries of its letters are
+ * computed once, when the filter is built:
+ *  - a mask, with bit i set if the word contains letter 'a'+i, and
+ *  - a count vector, holding how many times the word uses each letter,
+ *    packed 4 bits per letter into two longs (letters a-p, then q-z).
+ * A query computes the same summaries for its letters, and then a word
+ * can be made from the letters exactly when its mask has no bit the
+ * query's mask lacks, and none of its counts is larger than the query's.
+ * Both tests are a few integer operations per word, with no branches
+ * on the letters themselves, so the scan is fast and its cost does not
+ * depend on the number of letters (unlike the n! of SetOfLetters).
+ *
+ * The counts are compared all at once: each 4-bit lane holds a count of
+ * at most 7, so after setting the top bit of every lane of the query's
+ * counts, subtracting the word's counts clears a lane's top bit only in
+ * the lanes where the word needs more of that letter. Words that need
+ * more than 7 of a letter, or letters outside a-z, are marked to be
+ * checked letter by letter instead.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class LetterFilter {
+
+	/*CONSTANTS*/
+
+	/**Mask bit marking a word that must be checked letter by letter*/
+	private static final int EXACT = 1 << 31;
+	/**Mask of the bits used for the letters a-z*/
+	private static final int LETTERS = (1 << 26) - 1;
+	/**Top bit of each of the 16 4-bit lanes of a long*/
+	private static final long LANE_TOPS = 0x8888888888888888L;
+	/**Largest count a lane holds*/
+	private static final int MAX_COUNT = 7;
+
+	/*FIELDS*/
+
+	/**Dictionary whose words are scanned*/
+	private DictionaryList dict;
+	/**Letter mask of each word*/
+	private int[] masks;
+	/**Counts of the letters a-p of each word, 4 bits per letter*/
+	private long[] lowCounts;
+	/**Counts of the letters q-z of each word, 4 bits per letter*/
+	private long[] highCounts;
+
+	/**
+	 * Constructor which computes the letter summaries of every
+	 * word of a dictionary.
+	 *
+	 * @param dict dictionary whose words are to be scanned
+	 */
+	public LetterFilter(DictionaryList dict){
+		this.dict = dict;
+		this.masks = new int[dict.size()];
+		this.lowCounts = new long[dict.size()];
+		this.highCounts = new long[dict.size()];
+
+		long[] counts = new long[2];
+		for (int i = 0; i < dict.size(); i++){
+			this.masks[i] = summarize(dict.get(i), counts);
+			this.lowCounts[i] = counts[0];
+			this.highCounts[i] = counts[1];
+		}
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Method which finds the words that can be made from the given
+	 * letters, using at least 2 of them: the same words SetOfLetters
+	 * finds by permuting the letters. There is no limit on the number
+	 * of letters.
+	 *
+	 * @param letters the letters available
+	 * @return the matching words, in sorted order
+	 */
+	public ArrayList<String> findWords(String letters){
+		long[] counts = new long[2];
+		int mask = summarize(letters, counts) & LETTERS;
+		// set the top bit of every lane, so subtracting can't borrow across lanes
+		long low = counts[0] | LANE_TOPS;
+		long high = counts[1] | LANE_TOPS;
+
+		ArrayList<String> result = new ArrayList<String>();
+		String previous = null;
+		for (int i = 0; i < this.masks.length; i++){
+			int wordMask = this.masks[i];
+
+			// reject words using a letter that isn't available at all
+			if ((wordMask & ~mask & LETTERS) != 0) continue;
+
+			// reject words using a letter more often than it's available
+			if (((low - this.lowCounts[i]) & LANE_TOPS) != LANE_TOPS) continue;
+			if (((high - this.highCounts[i]) & LANE_TOPS) != LANE_TOPS) continue;
+
+			String word = this.dict.get(i);
+			if (word.length() < 2 || word.equals(previous)) continue;
+			if ((wordMask & EXACT) != 0 && !canMake(word, letters)) continue;
+
+			result.add(word);
+			previous = word;
+		}
+		return result;
+	}
+
+	/*CLASS METHODS*/
+
+	/**
+	 * Method which computes the letter mask and packed letter counts of
+	 * a string. Counts above MAX_COUNT are stored as MAX_COUNT, and the
+	 * mask is marked EXACT if that happens or if the string has a
+	 * character outside a-z.
+	 *
+	 * @param s string to be summarized
+	 * @param counts array receiving the packed counts of a-p and q-z
+	 * @return the letter mask of <s>
+	 */
+	private static int summarize(String s, long[] counts){
+		int mask = 0;
+		int[] perLetter = new int[26];
+		for (int k = 0; k < s.length(); k++){
+			char ch = s.charAt(k);
+			if (ch < 'a' || ch > 'z'){
+				mask |= EXACT;
+				continue;
+			}
+			mask |= 1 << (ch - 'a');
+			perLetter[ch - 'a']++;
+		}
+
+		counts[0] = 0;
+		counts[1] = 0;
+		for (int letter = 0; letter < 26; letter++){
+			int count = perLetter[letter];
+			if (count > MAX_COUNT){
+				mask |= EXACT;
+				count = MAX_COUNT;
+			}
+			counts[letter / 16] |= (long) count << (4 * (letter % 16));
+		}
+		return mask;
+	}
+
+	/**
+	 * Method which checks letter by letter whether a word can be made
+	 * from a set of letters.
+	 *
+	 * @param word the word
+	 * @param letters the letters available
+	 * @return true if every letter of <word> can be taken from <letters>
+	 */
+	private static boolean canMake(String word, String letters){
+		char[] available = letters.toCharArray();
+		int left = available.length;
+		for (int k = 0; k < word.length(); k++){
+			int i = 0;
+			while (i < left && available[i] != word.charAt(k)) i++;
+			if (i == left) return false;
+			// use the letter up by moving the last available letter into its place
+			available[i] = available[--left];
+		}
+		return true;
+	}
+}
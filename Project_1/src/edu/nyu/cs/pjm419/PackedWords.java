@@ -0,0 +1,208 @@
+package edu.nyu.cs.pjm419;
+import java.util.Arrays;
+/**
+ * Class which stores a list of words packed into a single contiguous
+ * byte array, alongside an int array of offsets into it.
+ *
+ * Word i occupies bytes [offsets[i], offsets[i+1]) of <bytes>. Compared to an ArrayList<String>, this avoids an object
+ * header, a separate backing array and a reference for every word, and
+ * keeps neighbouring words next to each other in memory, which is what a
+ * binary search over a sorted list touches. The compare methods work on
+ * the packed bytes in place, so a search never has to create a String.
+ *
+ * Each char of a word is encoded in UTF-8 on its own: ASCII takes one
+ * byte, and every other char two or three (a surrogate pair takes three
+ * bytes per half, as in the modified UTF-8 of DataOutput.writeUTF). So
+ * any word can be stored, English words still take one byte per letter,
+ * and decoding a char at a time gives back the same chars, in the same
+ * order, that String.compareTo compares.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+class PackedWords {
+
+	/*FIELDS*/
+
+	/**Characters of every word, encoded as UTF-8, back to back*/
+	private byte[] bytes;
+	/**Start offset of each word in <bytes>; offsets[size] is the end*/
+	private int[] offsets;
+	/**Number of words stored*/
+	private int size;
+
+	/**
+	 * Constructor which creates an empty list, ready for words
+	 * to be appended with add.
+	 */
+	PackedWords(){
+		this.bytes = new byte[1024];
+		this.offsets = new int[64];
+		this.size = 0;
+	}
+
+	/**
+	 * Constructor which wraps arrays that were already packed (for
+	 * example, read back from a file).
+	 *
+	 * @param bytes characters of every word, back to back
+	 * @param offsets start offset of each word, plus the end offset
+	 */
+	PackedWords(byte[] bytes, int[] offsets){
+		this.bytes = bytes;
+		this.offsets = offsets;
+		this.size = offsets.length - 1;
+	}
+
+	/*GETTERS*/
+
+	byte[] getBytes(){
+		return this.bytes;
+	}
+
+	int[] getOffsets(){
+		return this.offsets;
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Appends a word to the end of the list, growing the arrays
+	 * if necessary.
+	 *
+	 * @param word word to be appended
+	 */
+	void add(String word){
+		int end = this.offsets[this.size];
+		// no char takes more than three bytes
+		int longest = end + 3 * word.length();
+
+		if (longest > this.bytes.length){
+			this.bytes = Arrays.copyOf(this.bytes, Math.max(longest, this.bytes.length * 2));
+		}
+		if (this.size + 2 > this.offsets.length){
+			this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+		}
+
+		for (int k = 0; k < word.length(); k++){
+			char ch = word.charAt(k);
+			if (ch < 0x80){
+				this.bytes[end++] = (byte) ch;
+			}
+			else if (ch < 0x800){
+				this.bytes[end++] = (byte) (0xc0 | ch >> 6);
+				this.bytes[end++] = (byte) (0x80 | ch & 0x3f);
+			}
+			else {
+				this.bytes[end++] = (byte) (0xe0 | ch >> 12);
+				this.bytes[end++] = (byte) (0x80 | ch >> 6 & 0x3f);
+				this.bytes[end++] = (byte) (0x80 | ch & 0x3f);
+			}
+		}
+		this.offsets[++this.size] = end;
+	}
+
+	/**
+	 * Shrinks the arrays down to exactly the space used, once
+	 * all of the words have been added.
+	 */
+	void trim(){
+		this.bytes = Arrays.copyOf(this.bytes, this.offsets[this.size]);
+		this.offsets = Arrays.copyOf(this.offsets, this.size + 1);
+	}
+
+	/**
+	 * @return the number of words stored
+	 */
+	int size(){
+		return this.size;
+	}
+
+	/**
+	 * Creates a String holding word <i>. The searching methods do
+	 * not need this.
+	 *
+	 * @param i index of the word to be obtained
+	 * @return the word stored at index <i>
+	 */
+	String get(int i){
+		StringBuilder word = new StringBuilder(this.offsets[i+1] - this.offsets[i]);
+		for (int pos = this.offsets[i]; pos < this.offsets[i+1]; pos += width(this.bytes[pos])){
+			word.append(this.decode(pos));
+		}
+		return word.toString();
+	}
+
+	/**
+	 * Compares word <i> with a key, in place, with the same result
+	 * (up to sign) as get(i).compareTo(key).
+	 *
+	 * @param i index of the word to compare
+	 * @param key the search term
+	 * @return negative, zero, or positive as the word is less than,
+	 * 		   equal to, or greater than the key
+	 */
+	int compare(int i, String key){
+		int pos = this.offsets[i];
+		int end = this.offsets[i+1];
+		int k = 0;
+
+		for (; pos < end && k < key.length(); pos += width(this.bytes[pos]), k++){
+			int diff = this.decode(pos) - key.charAt(k);
+			if (diff != 0) return diff;
+		}
+		// one ran out: the shorter one sorts first
+		if (pos < end) return 1;
+		return k < key.length() ? -1 : 0;
+	}
+
+	/**
+	 * Compares the first prefix.length() characters of word <i> with a
+	 * prefix, in place. A word shorter than the prefix is compared as
+	 * a whole (so it sorts before the prefix if it is a prefix of it).
+	 *
+	 * @param i index of the word to compare
+	 * @param prefix the prefix being searched for
+	 * @return negative, zero, or positive as the start of the word is
+	 * 		   less than, equal to, or greater than the prefix
+	 */
+	int comparePrefix(int i, String prefix){
+		int pos = this.offsets[i];
+		int end = this.offsets[i+1];
+
+		for (int k = 0; k < prefix.length(); k++){
+			// word ran out first, so it sorts before the prefix
+			if (pos == end) return -1;
+			int diff = this.decode(pos) - prefix.charAt(k);
+			if (diff != 0) return diff;
+			pos += width(this.bytes[pos]);
+		}
+		return 0;
+	}
+
+	/**
+	 * Decodes the char whose encoding starts at a byte of <bytes>.
+	 *
+	 * @param pos index of the first byte of the char
+	 * @return the char
+	 */
+	private char decode(int pos){
+		int b = this.bytes[pos] & 0xff;
+		if (b < 0x80) return (char) b;
+		if (b < 0xe0) return (char) ((b & 0x1f) << 6 | this.bytes[pos+1] & 0x3f);
+		return (char) ((b & 0x0f) << 12 | (this.bytes[pos+1] & 0x3f) << 6 | this.bytes[pos+2] & 0x3f);
+	}
+
+	/*CLASS METHODS*/
+
+	/**
+	 * Method which finds how many bytes a char takes from its first byte.
+	 *
+	 * @param first the first byte of the char
+	 * @return 1, 2 or 3
+	 */
+	private static int width(byte first){
+		int b = first & 0xff;
+		return b < 0x80 ? 1 : b < 0xe0 ? 2 : 3;
+	}
+}
@@ -1,6 +1,8 @@
 package edu.nyu.cs.pjm419;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 /**
  * Class which represents a set of n letters, and all of the
  * permutations that can be formed from those letters, and
@@ -9,9 +11,32 @@ import java.util.Collections;
  * 
  * An object of type SetOfLetters must be instantiated with a 
  * String representing the n letters, and a vocabulary of type
- * DictionaryList. The vocabulary is used to validate the permu-
- * tations, as the only permutations that are acceptable are those
- * that are also exit in the vocabulary.
+ * Dictionary (e.g., DictionaryList or DictionaryTrie). The vocabulary
+ * is used to validate the permutations, as the only permutations
+ * that are acceptable are those that are also exit in the vocabulary.
+ * 
+ * The letters are treated as a multiset: at each position of a
+ * permutation, each distinct letter that is left is tried once, in
+ * sorted order. So letters that repeat (as in "banana") don't produce
+ * the same permutation more than once, and the permutations (and so
+ * the words) are produced in sorted order, without duplicates, with
+ * no sorting or clean-up afterwards. In the pruned mode, a prefix is
+ * also only extended while some word in the vocabulary starts with it,
+ * so dead branches are abandoned as early as possible. If the vocabulary
+ * is a DictionaryTrie, the pruned search walks the trie nodes directly
+ * instead of looking each prefix up from the root.
+ * 
+ * The words can also be streamed (see search): each word is handed to
+ * a WordSink as soon as it is found, and the sink can stop the search,
+ * e.g. once it has the first page of results.
+ * 
+ * Given a ForkJoinPool, the search runs in parallel: every choice of
+ * the first SPLIT_DEPTH letters is an independent subtree, searched by
+ * its own task, with its own copy of the letters left and its own list
+ * of words. Since the subtrees are in sorted order too, joining the
+ * lists in that order gives the same sorted result as the sequential
+ * search. All of the dictionaries are only read by a search, so they
+ * can be shared by the tasks.
  *  
  * @author Peter Mountanos
  * @version September 29, 2014
@@ -19,16 +44,27 @@ import java.util.Collections;
 
 public class SetOfLetters {
 
+	/*CONSTANTS*/
+
+	/**Number of letters of the prefix that the parallel search splits on*/
+	private static final int SPLIT_DEPTH = 2;
+
 	/*FIELDS*/
 
-	/**A string representing n letters range 2-10 inclusive*/
+	/**A string representing n letters, n >= 2 (the unpruned search
+	 * takes n! steps, so FindWords only gives it up to 10)*/
 	private String letters;
 	/**An ArrayList storing all of the permutations of <letters>, 
-	 * including the letter subsets formed from <letters>*/
+	 * including the letter subsets formed from <letters>, in sorted
+	 * order and without duplicates*/
 	private ArrayList<String> permutations = new ArrayList<String>();
-	/**A DictionaryList object that represents the allowable vocab 
+	/**A Dictionary object that represents the allowable vocab 
 	 * of permutations.*/
-	private DictionaryList vocab;
+	private Dictionary vocab;
+	/**True if the search abandons prefixes that no word starts with*/
+	private boolean prune;
+	/**Pool the parallel search runs in, or null to search sequentially*/
+	private ForkJoinPool pool;
 
 	/*GETTERS*/
 
@@ -40,37 +76,86 @@ public class SetOfLetters {
 		return this.letters;
 	}
 
-	public DictionaryList getVocab(){
+	public Dictionary getVocab(){
 		return this.vocab;
 	}
 
 	/**
 	 * SetOfLetters constructor, which instantiates a SetOfLetters
 	 * object, consisting on a string of letters (<letters>) and a
-	 * vocabulary <vocab> of type DictionaryList. This constructor 
+	 * vocabulary <vocab> of type Dictionary. This constructor 
 	 * also calls a helper method, which creates all of the possible
 	 * permutations of <letters>, that are also contained in <vocab>.
 	 * 
-	 * @param letters a string of n letters, where n is 2-10 inclusive
-	 * @param vocab a DictionaryList that contains a sorted ArrayList of words
+	 * @param letters a string of n letters, where n is at least 2
+	 * @param vocab a Dictionary that contains the allowable words
+	 */
+	public SetOfLetters(String letters, Dictionary vocab){
+		this(letters, vocab, false);
+	}
+
+	/**
+	 * SetOfLetters constructor, which can also choose the pruned
+	 * search (see the class description).
+	 * 
+	 * @param letters a string of n letters
+	 * @param vocab a Dictionary that contains the allowable words
+	 * @param prune if true, prefixes that no word in <vocab> starts with
+	 * 		  are abandoned instead of being permuted further
 	 */
-	public SetOfLetters(String letters, DictionaryList vocab){
+	public SetOfLetters(String letters, Dictionary vocab, boolean prune){
+		this(letters, vocab, prune, null);
+	}
+
+	/**
+	 * SetOfLetters constructor, which can also run the search in
+	 * parallel (see the class description).
+	 * 
+	 * @param letters a string of n letters
+	 * @param vocab a Dictionary that contains the allowable words
+	 * @param prune if true, prefixes that no word in <vocab> starts with
+	 * 		  are abandoned instead of being permuted further
+	 * @param pool pool to run the search in, or null to search
+	 * 		  sequentially
+	 */
+	public SetOfLetters(String letters, Dictionary vocab, boolean prune, ForkJoinPool pool){
 		this.letters = letters;
 		this.vocab = vocab;
+		this.prune = prune;
+		this.pool = pool;
 		this.makePermutations();
 	}
 
-	/*PRIVATE ACCESS METHODS*/
+	/**
+	 * SetOfLetters constructor for a streamed search, which doesn't
+	 * search until asked to.
+	 * 
+	 * @param vocab a Dictionary that contains the allowable words
+	 * @param prune true for the pruned search
+	 */
+	private SetOfLetters(Dictionary vocab, boolean prune){
+		this.vocab = vocab;
+		this.prune = prune;
+	}
+
+	/*CLASS METHODS*/
 
 	/**
-	 * Access Method to add a permutation to the 
-	 * permutations ArrayList
+	 * Method which finds the same words as a SetOfLetters object, but
+	 * hands each word to <sink> as soon as it is found, instead of
+	 * storing them all. The words come in sorted order, without
+	 * duplicates, and the search stops as soon as <sink> returns false,
+	 * so only the part of the search up to that point is done.
 	 * 
-	 * @param word String to be added to permutations
-	 * 			   ArrayList
+	 * @param letters a string of n letters
+	 * @param vocab a Dictionary that contains the allowable words
+	 * @param prune true for the pruned search
+	 * @param sink receives the words found
+	 * @return true if the whole search was done, false if <sink>
+	 * 		   stopped it
 	 */
-	private void addPerm(String word){
-		this.permutations.add(word);
+	public static boolean search(String letters, Dictionary vocab, boolean prune, WordSink sink){
+		return new SetOfLetters(vocab, prune).search(letters, sink);
 	}
 
 
@@ -78,79 +163,133 @@ public class SetOfLetters {
 
 	/**
 	 * Wrapper Method responsible for making all of the permutations
-	 * of a given set of n letters, and its subsets [2,10]. This method
-	 * then sorts the permutations ArrayList, and removes any duplicates
-	 * that might've occurred during the backtracking algorithm (likely).
+	 * of a given set of n letters, and its subsets, and storing the
+	 * ones that are words in the permutations ArrayList.
 	 */
 	public void makePermutations(){
-		// permute set of letters
-		char[] brokenUp = this.getLetters().toCharArray();
+		WordCollector all = new WordCollector();
+		this.search(this.getLetters(), all);
+		this.permutations = all.getWords();
+	}
+
+	/**
+	 * Method which runs the search for a set of letters. The letters are
+	 * broken up into the distinct letters, in sorted order, and a count
+	 * of how many of each are left to be used.
+	 * 
+	 * @param letters a string of n letters
+	 * @param sink receives the words found
+	 * @return true if the whole search was done, false if <sink>
+	 * 		   stopped it
+	 */
+	private boolean search(String letters, WordSink sink){
+		char[] sorted = letters.toCharArray();
+		Arrays.sort(sorted);
 
-		// start permutation with no prefix, and the entire char array
-		this.permute("",brokenUp, 0, brokenUp.length-1);
+		char[] distinct = new char[sorted.length];
+		int[] counts = new int[sorted.length];
+		int n = 0;
+		for (char ch : sorted){
+			if (n == 0 || distinct[n-1] != ch) distinct[n++] = ch;
+			counts[n-1]++;
+		}
+		distinct = Arrays.copyOf(distinct, n);
 
-		// sort arraylists for final output
-		Collections.sort(this.getPermutations());
+		char[] word = new char[sorted.length];
+		TrieNode root = null;
+		if (this.prune && this.getVocab() instanceof DictionaryTrie){
+			root = ((DictionaryTrie) this.getVocab()).getRoot();
+		}
 
-		// remove duplicates from a sorted list
-		// only if there's possible elements to remove
-		if (this.getPermutations().size() > 0){
-			this.removePermDuplicates();
+		if (this.pool != null){
+			// the tasks collect their words into lists, which are passed on once joined
+			for (String found : this.pool.invoke(new SearchTask(root, distinct, counts, word, 0))){
+				if (!sink.accept(found)) return false;
+			}
+			return true;
 		}
+		if (root != null) return this.walkTrie(root, distinct, counts, word, 0, sink);
+		return this.permute(distinct, counts, word, 0, sink);
 	}
 
 	/**
 	 * Permutation Backtracking Algorithm
 	 * 
 	 * This is the *main algorithm* required for this
-	 * assignment. Given an array of letters, it creates
+	 * assignment. Given a multiset of letters, it creates
 	 * all of the possible permutations from those letters
 	 * (including subsets of the letters).
 	 * 
-	 * @param prefix the letters that have already been "fixed"
-	 * 		  to the beginning of the permutation
-	 * @param letters array of letters to permute
-	 * @param start starting index in the array
-	 * @param end ending index in the array 
+	 * The prefix word[0,depth) is extended by each distinct letter
+	 * that is still left. Since the letters are tried in sorted order,
+	 * and each distinct letter only once per position, each permutation
+	 * is made exactly once, and in sorted order. In the pruned mode, a
+	 * prefix that no word in the vocabulary starts with is not permuted
+	 * any further.
+	 * 
+	 * @param distinct the distinct letters, in sorted order
+	 * @param counts number of each distinct letter left to be used
+	 * @param word holds the current prefix in word[0,depth)
+	 * @param depth length of the current prefix
+	 * @param sink receives the words found
+	 * @return false if <sink> stopped the search (by refusing a word, or
+	 * 		   by asking to stop before a step), else true
 	 */
-	private void permute(String prefix, char[] letters, int start, int end){
-		// base case (basically if remaining string is empty)
-		if (start == end){
-			String word = prefix + letters[start]; // add remaining letter to prefix
-			if (this.getVocab().contains(word)) this.addPerm(word);
-			return;
-		}
+	private boolean permute(char[] distinct, int[] counts, char[] word, int depth, WordSink sink){
+		for (int i = 0; i < distinct.length; i++){
+			if (counts[i] == 0) continue;
+			if (sink.shouldStop()) return false;
 
-		// for each char in letters ("fix" char and permute remaining string)
-		for (int i = start; i < end+1; i++){
-			swap(letters,start,i);
+			word[depth] = distinct[i];
+			String pre = new String(word, 0, depth+1);
+			// no word starts with pre, so no permutation of the rest can help
+			if (this.prune && !this.getVocab().containsPrefix(pre)) continue;
 
 			// extra credit (get subset permutations as well)
-			String pre = prefix + letters[start];
-			if (pre.length() > 1 && this.getVocab().contains(pre)) this.addPerm(pre);
+			if (pre.length() > 1 && this.getVocab().contains(pre) && !sink.accept(pre)) return false;
 
-			permute(pre,letters,start+1,letters.length-1); // recursive call
-			swap(letters,start,i); // swap back (backtracking...)
+			counts[i]--;
+			boolean more = this.permute(distinct, counts, word, depth+1, sink); // recursive call
+			counts[i]++; // put the letter back (backtracking...)
+			if (!more) return false;
 		}
+		return true;
 	}
 
 	/**
-	 * Helper Method to remove duplicates from the
-	 * permutations ArrayList after the backtracking
-	 * algorithm has completed, and the permutations 
-	 * have been sorted.
+	 * Pruned Backtracking Algorithm, walking a trie
+	 * 
+	 * The same search as permute in the pruned mode, but the current
+	 * prefix is kept as the trie node it leads to, so extending it by a
+	 * letter is a single step down the trie (and a missing child means
+	 * no word starts with the extended prefix).
+	 * 
+	 * @param node trie node reached by the prefix word[0,depth)
+	 * @param distinct the distinct letters, in sorted order
+	 * @param counts number of each distinct letter left to be used
+	 * @param word holds the current prefix in word[0,depth)
+	 * @param depth length of the current prefix
+	 * @param sink receives the words found
+	 * @return false if <sink> stopped the search (by refusing a word, or
+	 * 		   by asking to stop before a step), else true
 	 */
-	private void removePermDuplicates(){
-		String prevElement = this.getPermutations().get(0);
-		for (int i = 1; i < this.getPermutations().size(); i++ ){
-			if (prevElement.equals(this.getPermutations().get(i))){
-				this.getPermutations().remove(i);
-				i--;
-			}
-			else {
-				prevElement = this.getPermutations().get(i);
-			}
+	private boolean walkTrie(TrieNode node, char[] distinct, int[] counts, char[] word, int depth, WordSink sink){
+		for (int i = 0; i < distinct.length; i++){
+			if (counts[i] == 0) continue;
+			if (sink.shouldStop()) return false;
+
+			TrieNode child = node.getChild(distinct[i]);
+			if (child == null) continue;
+
+			word[depth] = distinct[i];
+			if (depth > 0 && child.completesWord() && !sink.accept(new String(word, 0, depth+1))) return false;
+
+			counts[i]--;
+			boolean more = this.walkTrie(child, distinct, counts, word, depth+1, sink); // recursive call
+			counts[i]++; // put the letter back (backtracking...)
+			if (!more) return false;
 		}
+		return true;
 	}
 
 	/**
@@ -164,17 +303,81 @@ public class SetOfLetters {
 		}
 	}
 
-	/*CLASS METHODS*/
+	/*PARALLEL SEARCH*/
+
 	/**
-	 * Swap method for char array
-	 *
-	 * @param letters char array where the indices to be sorted are stored
-	 * @param a one index to be swapped
-	 * @param b the other index to be swapped
+	 * Task which searches the permutations starting with one prefix.
+	 * Below SPLIT_DEPTH it forks a subtask for each letter the prefix
+	 * can be extended by; from SPLIT_DEPTH on it runs the sequential
+	 * search (permute or walkTrie). Each task has its own copies of the
+	 * letters left and of the prefix, and returns the words it found in
+	 * sorted order.
 	 */
-	private static void swap(char[] letters, int a, int b){
-		char tmp = letters[a];
-		letters[a] = letters[b];
-		letters[b] = tmp;
+	private class SearchTask extends RecursiveTask<ArrayList<String>> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**Trie node reached by the prefix, or null if not walking a trie*/
+		private TrieNode node;
+		/**The distinct letters, in sorted order (shared, never changed)*/
+		private char[] distinct;
+		/**Number of each distinct letter left to be used*/
+		private int[] counts;
+		/**Holds the prefix in word[0,depth)*/
+		private char[] word;
+		/**Length of the prefix*/
+		private int depth;
+
+		SearchTask(TrieNode node, char[] distinct, int[] counts, char[] word, int depth){
+			this.node = node;
+			this.distinct = distinct;
+			this.counts = counts.clone();
+			this.word = word.clone();
+			this.depth = depth;
+		}
+
+		@Override
+		protected ArrayList<String> compute(){
+			if (this.depth >= SPLIT_DEPTH){
+				WordCollector all = new WordCollector();
+				if (this.node != null) walkTrie(this.node, this.distinct, this.counts, this.word, this.depth, all);
+				else permute(this.distinct, this.counts, this.word, this.depth, all);
+				return all.getWords();
+			}
+
+			// the same steps as permute/walkTrie, but each extended prefix is
+			// searched by a subtask; words[i] is the extended prefix itself, if
+			// it is a word, which sorts before everything its subtask finds
+			String[] words = new String[this.distinct.length];
+			SearchTask[] tasks = new SearchTask[this.distinct.length];
+			for (int i = 0; i < this.distinct.length; i++){
+				if (this.counts[i] == 0) continue;
+
+				this.word[this.depth] = this.distinct[i];
+				String pre = new String(this.word, 0, this.depth+1);
+				TrieNode child = null;
+				if (this.node != null){
+					child = this.node.getChild(this.distinct[i]);
+					if (child == null) continue;
+					if (this.depth > 0 && child.completesWord()) words[i] = pre;
+				}
+				else {
+					if (prune && !getVocab().containsPrefix(pre)) continue;
+					if (pre.length() > 1 && getVocab().contains(pre)) words[i] = pre;
+				}
+
+				this.counts[i]--;
+				tasks[i] = new SearchTask(child, this.distinct, this.counts, this.word, this.depth+1);
+				tasks[i].fork();
+				this.counts[i]++;
+			}
+
+			ArrayList<String> found = new ArrayList<String>();
+			for (int i = 0; i < this.distinct.length; i++){
+				if (words[i] != null) found.add(words[i]);
+				if (tasks[i] != null) found.addAll(tasks[i].join());
+			}
+			return found;
+		}
 	}
 }
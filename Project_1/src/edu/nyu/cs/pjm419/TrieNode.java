@@ -0,0 +1,97 @@
+package edu.nyu.cs.pjm419;
+import java.util.Arrays;
+/**
+ * Node of a trie tree which represents a dictionary of words.
+ *
+ * Instead of a fixed array with a slot for every letter of the
+ * alphabet, a node only stores the children it actually has: a
+ * sorted array of the letters on its outgoing edges, and a parallel
+ * array with the child node for each letter. Most nodes of a
+ * dictionary trie have one or two children, so this is far smaller
+ * than 26 references per node, and it works for any character.
+ *
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+class TrieNode {
+
+	/*CONSTANTS*/
+	private static final char[] NO_LABELS = new char[0];
+	private static final TrieNode[] NO_CHILDREN = new TrieNode[0];
+
+	/*FIELDS*/
+
+	/**Letters on the edges to the children, in sorted order*/
+	private char[] labels = NO_LABELS;
+	/**Children of the node; children[i] is reached by labels[i]*/
+	private TrieNode[] children = NO_CHILDREN;
+	/**True if the path from the root to this node spells a word.
+	 * I.e., given the nodes linking r-a-c-e-c-a-r, completesWord
+	 * is true at the 4th node (e) for race, and the 7th node (r)
+	 * for racecar.*/
+	private boolean completesWord = false;
+
+	/*GETTERS & SETTERS*/
+
+	boolean completesWord(){
+		return this.completesWord;
+	}
+
+	void setCompletesWord(boolean completesWord){
+		this.completesWord = completesWord;
+	}
+
+	int childCount(){
+		return this.labels.length;
+	}
+
+	char getLabel(int i){
+		return this.labels[i];
+	}
+
+	TrieNode getChildAt(int i){
+		return this.children[i];
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Finds the child reached by a letter.
+	 *
+	 * @param letter letter on the edge to the child
+	 * @return the child node, or null if there is no such child
+	 */
+	TrieNode getChild(char letter){
+		int i = Arrays.binarySearch(this.labels, letter);
+		return i >= 0 ? this.children[i] : null;
+	}
+
+	/**
+	 * Finds the child reached by a letter, adding a new
+	 * (empty) child for it if there is none yet.
+	 *
+	 * @param letter letter on the edge to the child
+	 * @return the existing or newly added child node
+	 */
+	TrieNode addChild(char letter){
+		int i = Arrays.binarySearch(this.labels, letter);
+		if (i >= 0) return this.children[i];
+
+		// insert the new letter at its sorted position
+		// (for sorted input this is always the end)
+		i = -(i + 1);
+		int n = this.labels.length;
+		char[] labels = new char[n + 1];
+		TrieNode[] children = new TrieNode[n + 1];
+		System.arraycopy(this.labels, 0, labels, 0, i);
+		System.arraycopy(this.children, 0, children, 0, i);
+		System.arraycopy(this.labels, i, labels, i + 1, n - i);
+		System.arraycopy(this.children, i, children, i + 1, n - i);
+		labels[i] = letter;
+		children[i] = new TrieNode();
+
+		this.labels = labels;
+		this.children = children;
+		return children[i];
+	}
+}
@@ -0,0 +1,102 @@
+package edu.nyu.cs.pjm419;
+import java.util.ArrayList;
+/**
+ * WordSink which collects the words it receives into a list, and can
+ * stop the search early: after a given number of words (e.g., the
+ * first page of results), or once a time limit has passed.
+ * 
+ * The time limit is checked each time a word is received, and before
+ * each step of the search (see shouldStop), so it holds even while the
+ * search finds no words.
+ * 
+ * @author Peter Mountanos
+ * @version September 29, 2014
+ */
+public class WordCollector implements WordSink {
+
+	/*FIELDS*/
+
+	/**The words received, in the order they were received*/
+	private ArrayList<String> words = new ArrayList<String>();
+	/**Number of words to collect before stopping the search*/
+	private int limit;
+	/**True if the search is to be stopped at <deadline>*/
+	private boolean hasDeadline = false;
+	/**System.nanoTime() at which the search is to be stopped*/
+	private long deadline;
+	/**True if the collector has stopped the search*/
+	private boolean stopped = false;
+
+	/**
+	 * Constructor for a collector that collects every word.
+	 */
+	public WordCollector(){
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Constructor for a collector that stops the search after
+	 * <limit> words.
+	 * 
+	 * @param limit number of words to collect
+	 */
+	public WordCollector(int limit){
+		this.limit = limit;
+	}
+
+	/**
+	 * Constructor for a collector that stops the search after <limit>
+	 * words, or once <timeout> milliseconds have passed, whichever
+	 * comes first. Words received after the time limit are not kept.
+	 * 
+	 * @param limit number of words to collect
+	 * @param timeout time limit in milliseconds, from now
+	 */
+	public WordCollector(int limit, long timeout){
+		this(limit);
+		this.hasDeadline = true;
+		this.deadline = System.nanoTime() + timeout * 1000000L;
+	}
+
+	/*GETTERS*/
+
+	public ArrayList<String> getWords(){
+		return this.words;
+	}
+
+	/**
+	 * @return true if the collector stopped the search, because of
+	 * 		   the limit on words or on time
+	 */
+	public boolean isStopped(){
+		return this.stopped;
+	}
+
+	/*INSTANCE METHODS*/
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.WordSink#accept(java.lang.String)
+	 */
+	@Override
+	public boolean accept(String word){
+		if (this.shouldStop()) return false;
+		this.words.add(word);
+		if (this.words.size() < this.limit) return true;
+		this.stopped = true;
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.nyu.cs.pjm419.WordSink#shouldStop()
+	 */
+	@Override
+	public boolean shouldStop(){
+		if (this.words.size() >= this.limit
+				|| (this.hasDeadline && System.nanoTime() - this.deadline >= 0)){
+			this.stopped = true;
+		}
+		return this.stopped;
+	}
+}
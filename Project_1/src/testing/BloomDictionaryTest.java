@@ -0,0 +1,140 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.BloomDictionary;
+import edu.nyu.cs.pjm419.BloomFilter;
+import edu.nyu.cs.pjm419.DictionaryList;
+import edu.nyu.cs.pjm419.DictionaryTrie;
+import edu.nyu.cs.pjm419.SetOfLetters;
+
+public class BloomDictionaryTest {
+
+	private DictionaryList list;
+
+	@Before
+	public void setUp() throws Exception {
+		list = new DictionaryList(new File("TWL06.txt"));
+	}
+
+	@After
+	public void tearDown() {
+		list = null;
+	}
+
+	@Test
+	public void filterTest() {
+		BloomFilter filter = new BloomFilter(list.size(), 0.01);
+		for (String word : list) {
+			filter.add(word);
+		}
+		// no false negatives
+		for (String word : list) {
+			assertEquals(true, filter.mightContain(word));
+		}
+		// about 1% false positives on strings that aren't words
+		Random random = new Random(419);
+		int tried = 0, passed = 0;
+		while (tried < 100000) {
+			char[] letters = new char[2 + random.nextInt(8)];
+			for (int i = 0; i < letters.length; i++) {
+				letters[i] = (char) ('a' + random.nextInt(26));
+			}
+			String s = new String(letters);
+			if (list.contains(s)) continue;
+			tried++;
+			if (filter.mightContain(s)) passed++;
+		}
+		assertEquals(true, passed < 2 * tried / 100);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rateTest() {
+		new BloomFilter(10, 1.0);
+	}
+
+	@Test
+	public void containsTest() {
+		BloomDictionary bloom = new BloomDictionary(list, 0.01, true);
+		for (String word : list) {
+			assertEquals(true, bloom.contains(word));
+			assertEquals(false, bloom.contains(word + "q"));
+		}
+		assertEquals(bloom.getHits() + bloom.getMisses(), 2L * list.size());
+		assertEquals(list.size() + bloom.getFalsePositives(), bloom.getHits());
+		assertEquals(true, bloom.getFalsePositives() < list.size() / 50);
+		assertEquals(list.size(), bloom.size());
+		assertEquals(true, bloom.containsPrefix("retai"));
+		assertEquals(false, bloom.containsPrefix("xq"));
+	}
+
+	@Test
+	public void prefixTest() {
+		BloomDictionary bloom = new BloomDictionary(list, 0.01, true);
+		for (String word : list) {
+			for (int i = 1; i <= word.length(); i++) {
+				assertEquals(true, bloom.getPrefixFilter().mightContain(word.substring(0, i)));
+			}
+			assertEquals(list.containsPrefix(word + "q"), bloom.containsPrefix(word + "q"));
+			assertEquals(list.containsPrefix("q" + word), bloom.containsPrefix("q" + word));
+		}
+		assertEquals(true, bloom.containsPrefix(""));
+		assertEquals(2L * list.size() + 1, bloom.getPrefixHits() + bloom.getPrefixMisses());
+		assertEquals(true, bloom.getPrefixMisses() > list.size());
+	}
+
+	@Test
+	public void prefixAgreesTest() {
+		// every live prefix of TWL06, and dead ones next to it, give the same
+		// answer through the filter as from the list itself
+		BloomDictionary bloom = new BloomDictionary(list, 0.01);
+		for (String word : list) {
+			for (int i = 1; i <= word.length(); i++) {
+				String prefix = word.substring(0, i);
+				char last = prefix.charAt(i - 1);
+				String[] tried = {prefix, prefix + "q", "q" + prefix, prefix + "zz",
+						prefix.substring(0, i - 1) + (char) (last == 'z' ? 'a' : last + 1)};
+				for (String p : tried) {
+					assertEquals(p, list.containsPrefix(p), bloom.containsPrefix(p));
+				}
+			}
+		}
+		for (String p : new String[] {"", "a", "z", "zzzz", "aaaa", "qq"}) {
+			assertEquals(p, list.containsPrefix(p), bloom.containsPrefix(p));
+		}
+	}
+
+	@Test
+	public void countingTest() {
+		// lookups are only counted if asked for
+		BloomDictionary bloom = new BloomDictionary(list, 0.01);
+		assertEquals(false, bloom.isCounting());
+		assertEquals(true, bloom.contains("retains"));
+		assertEquals(false, bloom.contains("retainsq"));
+		assertEquals(true, bloom.containsPrefix("retai"));
+		assertEquals(0L, bloom.getHits() + bloom.getMisses());
+		assertEquals(0L, bloom.getPrefixHits() + bloom.getPrefixMisses());
+	}
+
+	@Test
+	public void permutationsTest() {
+		DictionaryTrie trie = new DictionaryTrie(new File("TWL06.txt"));
+		BloomDictionary overList = new BloomDictionary(list, 0.01);
+		BloomDictionary overTrie = new BloomDictionary(trie, 0.01);
+		for (String letters : new String[] {"banana", "retains", "aeilnrst"}) {
+			assertEquals(new SetOfLetters(letters, list).getPermutations(),
+					new SetOfLetters(letters, overList).getPermutations());
+			assertEquals(new SetOfLetters(letters, list).getPermutations(),
+					new SetOfLetters(letters, overTrie).getPermutations());
+			assertEquals(new SetOfLetters(letters, list).getPermutations(),
+					new SetOfLetters(letters, overList, true).getPermutations());
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.CompiledDictionary;
+import edu.nyu.cs.pjm419.DictionaryList;
+
+public class CompiledDictionaryTest {
+
+	private File compiled;
+
+	@Before
+	public void setUp() throws Exception {
+		compiled = File.createTempFile("testdict", ".wdc");
+		CompiledDictionary.compile(new File("testdict.txt"), compiled, true);
+	}
+
+	@After
+	public void tearDown() {
+		compiled.delete();
+		compiled = null;
+	}
+
+	@Test
+	public void loadTest() throws Exception {
+		DictionaryList text = new DictionaryList(new File("testdict.txt"));
+		CompiledDictionary dict = CompiledDictionary.load(compiled);
+		assertEquals(true, CompiledDictionary.isCompiled(compiled));
+		assertEquals(false, CompiledDictionary.isCompiled(new File("testdict.txt")));
+		assertEquals(text.size(), dict.getList().size());
+		assertEquals(text.size(), dict.getTrie().size());
+		for (String word : text) {
+			assertEquals(true, dict.getList().contains(word));
+			assertEquals(true, dict.getTrie().contains(word));
+			assertEquals(text.contains(word + "s"), dict.getList().contains(word + "s"));
+			assertEquals(text.containsPrefix(word + "s"), dict.getTrie().containsPrefix(word + "s"));
+		}
+	}
+
+	@Test
+	public void withoutTrieTest() throws Exception {
+		CompiledDictionary.compile(new File("testdict.txt"), compiled, false);
+		CompiledDictionary dict = CompiledDictionary.load(compiled);
+		assertEquals(null, dict.getTrie());
+		assertEquals(new DictionaryList(new File("testdict.txt")).size(), dict.getList().size());
+	}
+
+	@Test(expected = IOException.class)
+	public void corruptTest() throws Exception {
+		RandomAccessFile file = new RandomAccessFile(compiled, "rw");
+		try {
+			file.seek(30);
+			int b = file.read();
+			file.seek(30);
+			file.write(b ^ 1);
+		} finally {
+			file.close();
+		}
+		CompiledDictionary.load(compiled);
+	}
+
+	@Test(expected = IOException.class)
+	public void notCompiledTest() throws Exception {
+		CompiledDictionary.load(new File("testdict.txt"));
+	}
+}
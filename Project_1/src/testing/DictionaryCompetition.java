@@ -4,6 +4,7 @@ import java.io.FileNotFoundException;
 import java.util.Date;
 
 import edu.nyu.cs.pjm419.DictionaryList;
+import edu.nyu.cs.pjm419.DictionaryMapped;
 
 /**
  * This program compares running time of Dictionary contains
@@ -49,6 +50,18 @@ public class DictionaryCompetition {
 		System.out.printf("Time to create DictionaryTrie: %d milliseconds.\n", end - start);
 		System.out.println("DictionaryTrie Size: "+dt.size);
 		
+		start = (new Date()).getTime();
+		DictionaryMapped dm = new DictionaryMapped(new File("TWL06.txt"));
+		end = (new Date()).getTime();
+		System.out.printf("Time to create DictionaryMapped: %d milliseconds.\n", end - start);
+		System.out.println("DictionaryMapped Size: "+dm.size());
+		
+		start = (new Date()).getTime();
+		edu.nyu.cs.pjm419.DictionaryTrie lt = new edu.nyu.cs.pjm419.DictionaryTrie(new File("TWL06.txt"));
+		end = (new Date()).getTime();
+		System.out.printf("Time to create library DictionaryTrie: %d milliseconds.\n", end - start);
+		System.out.println("Library DictionaryTrie Size: "+lt.size());
+		
 		System.out.printf("Before many calls to DictionaryList.contains(%s).\n", searchTerm);
 		start = (new Date()).getTime();
 		for (int i = 0; i < REPEAT; i++)
@@ -63,7 +76,23 @@ public class DictionaryCompetition {
 			result = dt.contains(searchTerm);
 		end = (new Date()).getTime();
 		System.out.printf("DictionaryTrie.contains(%s) = %s.\n", searchTerm, result);
-		System.out.printf("DictionaryTrie took %d milliseconds.", end - start);
+		System.out.printf("DictionaryTrie took %d milliseconds.\n", end - start);
+		
+		System.out.printf("Before many calls to DictionaryMapped.contains(%s).\n", searchTerm);
+		start = (new Date()).getTime();
+		for (int i = 0; i < REPEAT; i++)
+			result = dm.contains(searchTerm);
+		end = (new Date()).getTime();
+		System.out.printf("DictionaryMapped.contains(%s) = %s.\n", searchTerm, result);
+		System.out.printf("DictionaryMapped took %d milliseconds.\n", end - start);
+		
+		System.out.printf("Before many calls to library DictionaryTrie.contains(%s).\n", searchTerm);
+		start = (new Date()).getTime();
+		for (int i = 0; i < REPEAT; i++)
+			result = lt.contains(searchTerm);
+		end = (new Date()).getTime();
+		System.out.printf("Library DictionaryTrie.contains(%s) = %s.\n", searchTerm, result);
+		System.out.printf("Library DictionaryTrie took %d milliseconds.", end - start);
 		
 	}
 }
@@ -0,0 +1,62 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.DictionaryDAWG;
+
+public class DictionaryDAWGTest {
+
+	private DictionaryDAWG tester1;
+	private DictionaryDAWG tester2;
+
+	@Before
+	public void setUp() throws Exception {
+		tester1 = new DictionaryDAWG(new File("testdict.txt"));
+		tester2 = new DictionaryDAWG(new File("TWL06.txt"));
+	}
+
+	@After
+	public void tearDown() {
+		tester1 = null;
+		tester2 = null;
+	}
+
+	@Test
+	public void containsPrefixTest() {
+		assertEquals(true, tester1.containsPrefix("alpha"));
+		assertEquals(true, tester2.containsPrefix("abridge"));
+		assertEquals(false, tester1.containsPrefix("foo"));
+		assertEquals(false, tester2.containsPrefix("xyz"));
+	}
+
+	@Test
+	public void containsTest() {
+		assertEquals(true, tester1.contains("rusty"));
+		assertEquals(true, tester1.contains("race"));
+		assertEquals(true, tester2.contains("computer"));
+		assertEquals(false, tester1.contains(""));
+		assertEquals(false, tester1.contains("rus"));
+		assertEquals(false, tester2.contains("abc"));
+		assertEquals(false, tester2.contains("ab1"));
+	}
+
+	@Test
+	public void sizeTest() {
+		assertEquals(32, tester1.size());
+		assertEquals(178691, tester2.size());
+		assertEquals(0, new DictionaryDAWG(new File("empty_dict.txt")).size());
+	}
+
+	@Test
+	public void stateCountTest() {
+		// shared endings are stored once, so far fewer states than prefixes
+		assertEquals(true, tester2.stateCount() < 100000);
+		assertEquals(1, new DictionaryDAWG(new File("empty_dict.txt")).stateCount());
+	}
+}
@@ -0,0 +1,115 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.DictionaryDoubleArray;
+
+public class DictionaryDoubleArrayTest {
+
+	private DictionaryDoubleArray tester1;
+	private DictionaryDoubleArray tester2;
+
+	@Before
+	public void setUp() throws Exception {
+		tester1 = new DictionaryDoubleArray(new File("testdict.txt"));
+		tester2 = new DictionaryDoubleArray(new File("TWL06.txt"));
+	}
+
+	@After
+	public void tearDown() {
+		tester1 = null;
+		tester2 = null;
+	}
+
+	@Test
+	public void containsPrefixTest() {
+		assertEquals(true, tester1.containsPrefix("alpha"));
+		assertEquals(true, tester2.containsPrefix("abridge"));
+		assertEquals(false, tester1.containsPrefix("foo"));
+		assertEquals(false, tester2.containsPrefix("xyz"));
+	}
+
+	@Test
+	public void containsTest() {
+		assertEquals(true, tester1.contains("rusty"));
+		assertEquals(true, tester1.contains("race"));
+		assertEquals(true, tester2.contains("computer"));
+		assertEquals(false, tester1.contains(""));
+		assertEquals(false, tester1.contains("rus"));
+		assertEquals(false, tester2.contains("abc"));
+		assertEquals(false, tester2.contains("ab1"));
+	}
+
+	@Test
+	public void sizeTest() {
+		assertEquals(32, tester1.size());
+		assertEquals(178691, tester2.size());
+		assertEquals(0, new DictionaryDoubleArray(new File("empty_dict.txt")).size());
+	}
+
+	@Test
+	public void imageTest() throws Exception {
+		File image = File.createTempFile("TWL06", ".dat");
+		image.deleteOnExit();
+		tester2.save(image);
+
+		DictionaryDoubleArray loaded = DictionaryDoubleArray.load(image);
+		assertEquals(tester2.size(), loaded.size());
+		assertEquals(true, loaded.contains("computer"));
+		assertEquals(true, loaded.containsPrefix("abridge"));
+		assertEquals(false, loaded.contains("abc"));
+	}
+
+	@Test(expected = java.io.IOException.class)
+	public void badImageTest() throws Exception {
+		DictionaryDoubleArray.load(new File("testdict.txt"));
+	}
+
+	@Test
+	public void corruptImageTest() throws Exception {
+		File image = File.createTempFile("testdict", ".dat");
+		image.deleteOnExit();
+		tester1.save(image);
+		byte[] bytes = Files.readAllBytes(image.toPath());
+
+		// cut short, and with each length in the header made huge or negative
+		assertCorrupt(image, Arrays.copyOf(bytes, bytes.length / 2));
+		assertCorrupt(image, Arrays.copyOf(bytes, 5 * 4));
+		for (int field = 2; field < 5; field++) {
+			for (int value : new int[] {Integer.MAX_VALUE, -1, Integer.MIN_VALUE}) {
+				byte[] corrupt = bytes.clone();
+				ByteBuffer.wrap(corrupt).putInt(field * 4, value);
+				assertCorrupt(image, corrupt);
+			}
+		}
+	}
+
+	/**
+	 * Writes an image to a file, and checks that loading it fails with
+	 * an IOException.
+	 */
+	private static void assertCorrupt(File image, byte[] bytes) throws IOException {
+		FileOutputStream out = new FileOutputStream(image);
+		try {
+			out.write(bytes);
+		} finally {
+			out.close();
+		}
+		try {
+			DictionaryDoubleArray.load(image);
+			fail("loaded a corrupt image");
+		} catch (IOException e) {
+		}
+	}
+}
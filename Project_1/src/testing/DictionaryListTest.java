@@ -0,0 +1,73 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.DictionaryList;
+
+public class DictionaryListTest {
+
+	private DictionaryList tester1;
+	private DictionaryList tester2;
+	private DictionaryList packed;
+
+	@Before
+	public void setUp() throws Exception {
+		tester1 = new DictionaryList(new File("testdict.txt"));
+		tester2 = new DictionaryList(new File("TWL06.txt"));
+		packed = new DictionaryList(new File("TWL06.txt"), true);
+	}
+
+	@After
+	public void tearDown() {
+		tester1 = null;
+		tester2 = null;
+		packed = null;
+	}
+
+	@Test
+	public void containsTest() {
+		assertEquals(true, tester1.contains("rusty"));
+		assertEquals(true, tester2.contains("computer"));
+		assertEquals(false, tester1.contains(""));
+		assertEquals(false, tester2.contains("abc"));
+	}
+
+	@Test
+	public void containsPrefixTest() {
+		assertEquals(true, tester1.containsPrefix("alpha"));
+		assertEquals(true, tester2.containsPrefix("abridge"));
+		assertEquals(false, tester1.containsPrefix("foo"));
+		assertEquals(false, tester2.containsPrefix("xyz"));
+		// prefix longer than any word it is compared against
+		assertEquals(false, tester1.containsPrefix("racecarracecar"));
+		assertEquals(false, tester2.containsPrefix("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"));
+	}
+
+	@Test
+	public void prefixRangeTest() {
+		int[] range = tester1.prefixRange("rust");
+		assertEquals("rust", tester1.get(range[0]));
+		assertEquals("rusty", tester1.get(range[1]-1));
+		assertEquals(3, tester1.countPrefix("rust"));
+		assertEquals(2, tester1.countPrefix("race"));
+		assertEquals(0, tester1.countPrefix("foo"));
+		assertEquals(tester1.size(), tester1.countPrefix(""));
+	}
+
+	@Test
+	public void packedTest() {
+		assertEquals(tester2.size(), packed.size());
+		assertEquals(tester2.get(1000), packed.get(1000));
+		assertEquals(true, packed.contains("computer"));
+		assertEquals(false, packed.contains("abc"));
+		assertEquals(true, packed.containsPrefix("abridge"));
+		assertEquals(false, packed.containsPrefix("xyz"));
+		assertEquals(tester2.countPrefix("zo"), packed.countPrefix("zo"));
+	}
+}
@@ -0,0 +1,65 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.DictionaryList;
+import edu.nyu.cs.pjm419.DictionaryMapped;
+
+public class DictionaryMappedTest {
+
+	@Test
+	public void containsTest() {
+		DictionaryMapped tester = new DictionaryMapped(new File("testdict.txt"));
+		assertEquals(true, tester.contains("rusty"));
+		assertEquals(false, tester.contains(""));
+		assertEquals(false, tester.contains("rus"));
+		assertEquals(true, tester.containsPrefix("alpha"));
+		assertEquals(false, tester.containsPrefix("foo"));
+	}
+
+	@Test
+	public void sameAsListTest() {
+		for (String name : new String[] {"testdict.txt", "empty_dict.txt", "TWL06.txt"}) {
+			DictionaryList list = new DictionaryList(new File(name));
+			DictionaryMapped mapped = new DictionaryMapped(new File(name));
+			assertEquals(list.size(), mapped.size());
+			List<String> words = new ArrayList<String>();
+			for (int i = 0; i < list.size(); i++) {
+				words.add(list.get(i));
+				assertEquals(list.get(i), mapped.get(i));
+			}
+
+			for (String word : words) {
+				assertEquals(true, mapped.contains(word));
+				assertEquals(true, mapped.containsPrefix(word));
+				// strings next to the word, which may or may not be in the dictionary
+				String shorter = word.substring(0, word.length() - 1);
+				for (String probe : new String[] {shorter, shorter + "q", word + "s", word + "q", "q" + word}) {
+					assertEquals(list.contains(probe), mapped.contains(probe));
+					assertEquals(hasPrefix(words, probe), mapped.containsPrefix(probe));
+				}
+			}
+			for (String probe : new String[] {"a", "zzz", "xyz"}) {
+				assertEquals(list.contains(probe), mapped.contains(probe));
+				assertEquals(hasPrefix(words, probe), mapped.containsPrefix(probe));
+			}
+		}
+	}
+
+	/**
+	 * Checks whether any of a sorted list of words starts with a prefix:
+	 * if one does, so does the first word not less than the prefix.
+	 */
+	private static boolean hasPrefix(List<String> words, String prefix) {
+		int i = Collections.binarySearch(words, prefix);
+		if (i < 0) i = -i - 1;
+		return i < words.size() && words.get(i).startsWith(prefix);
+	}
+}
@@ -0,0 +1,105 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.DictionaryList;
+import edu.nyu.cs.pjm419.DictionaryServer;
+
+public class DictionaryServerTest {
+
+	private DictionaryServer server;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new DictionaryServer(new DictionaryList(new File("dictionary_10.txt")), 0);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		server.close();
+		server = null;
+	}
+
+	@Test
+	public void answerTest() {
+		assertEquals("true", server.answer("contains cat"));
+		assertEquals("true", server.answer("  CONTAINS   Cat "));
+		assertEquals("false", server.answer("contains ca"));
+		assertEquals("true", server.answer("prefix ca"));
+		assertEquals("false", server.answer("prefix xq"));
+		assertEquals("act cat tac", server.answer("words tca"));
+		assertEquals("", server.answer("words xq"));
+		assertEquals(true, server.answer("words c4t").startsWith("error"));
+		assertEquals(true, server.answer("contains").startsWith("error"));
+		assertEquals(true, server.answer("contains a b").startsWith("error"));
+		assertEquals(true, server.answer("lookup cat").startsWith("error"));
+		assertEquals(true, server.answer("").startsWith("error"));
+	}
+
+	@Test
+	public void boundedWordsTest() throws Exception {
+		DictionaryList dict = new DictionaryList(new File("dictionary_10.txt"));
+		DictionaryServer bounded = new DictionaryServer(dict, 0, 3, DictionaryServer.WORDS_TIMEOUT);
+		try {
+			assertEquals("act cat tac", bounded.answer("words tca"));
+		} finally {
+			bounded.close();
+		}
+		bounded = new DictionaryServer(dict, 0, 2, DictionaryServer.WORDS_TIMEOUT);
+		try {
+			assertEquals(true, bounded.answer("words tca").startsWith("error"));
+			assertEquals("", bounded.answer("words xq"));
+		} finally {
+			bounded.close();
+		}
+		bounded = new DictionaryServer(dict, 0, DictionaryServer.MAX_WORDS, 0);
+		try {
+			assertEquals(true, bounded.answer("words tca").startsWith("error"));
+		} finally {
+			bounded.close();
+		}
+	}
+
+	@Test
+	public void pipelineTest() throws Exception {
+		Thread serving = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					server.serve();
+				} catch (Exception e) {
+				}
+			}
+		});
+		serving.start();
+
+		Socket socket = new Socket("localhost", server.getPort());
+		Writer out = new OutputStreamWriter(socket.getOutputStream(), "UTF-8");
+		BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+
+		// send every request before reading any answer
+		out.write("contains cat\nprefix zz\nwords tca\nsize\nquit\n");
+		out.flush();
+		assertEquals("true", in.readLine());
+		assertEquals("false", in.readLine());
+		assertEquals("act cat tac", in.readLine());
+		assertEquals(server.answer("size"), in.readLine());
+		assertEquals(null, in.readLine());
+		socket.close();
+
+		server.close();
+		serving.join(5000);
+		assertEquals(false, serving.isAlive());
+	}
+}
@@ -0,0 +1,66 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the library trie, edu.nyu.cs.pjm419.DictionaryTrie (as opposed
+ * to the DictionaryTrie in this package, tested by DictionaryTrieTest).
+ */
+public class DictionaryTrieLibraryTest {
+
+	private edu.nyu.cs.pjm419.DictionaryTrie tester1;
+	private edu.nyu.cs.pjm419.DictionaryTrie tester2;
+
+	@Before
+	public void setUp() throws Exception {
+		tester1 = new edu.nyu.cs.pjm419.DictionaryTrie(new File("testdict.txt"));
+		tester2 = new edu.nyu.cs.pjm419.DictionaryTrie(new File("TWL06.txt"));
+	}
+
+	@After
+	public void tearDown() {
+		tester1 = null;
+		tester2 = null;
+	}
+
+	@Test
+	public void containsPrefixTest() {
+		assertEquals(true, tester1.containsPrefix("alpha"));
+		assertEquals(true, tester2.containsPrefix("abridge"));
+		assertEquals(false, tester1.containsPrefix("foo"));
+		assertEquals(false, tester2.containsPrefix("xyz"));
+	}
+
+	@Test
+	public void containsTest() {
+		assertEquals(true, tester1.contains("rusty"));
+		assertEquals(true, tester2.contains("computer"));
+		assertEquals(false, tester1.contains(""));
+		assertEquals(false, tester1.contains("rus"));
+		assertEquals(false, tester2.contains("abc"));
+	}
+
+	@Test
+	public void sizeTest() {
+		assertEquals(32, tester1.size());
+		assertEquals(178691, tester2.size());
+	}
+
+	@Test
+	public void insertTest() {
+		tester1.insert("foobar");
+		tester1.insert("foobar");
+		assertEquals(true, tester1.contains("foobar"));
+		assertEquals(33, tester1.size());
+		// characters outside a-z are stored as well
+		tester1.insert("caf\u00e9-au-lait");
+		assertEquals(true, tester1.contains("caf\u00e9-au-lait"));
+		assertEquals(true, tester1.containsPrefix("caf\u00e9"));
+	}
+}
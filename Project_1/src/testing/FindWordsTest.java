@@ -2,8 +2,22 @@ package testing;
 
 import static org.junit.Assert.*;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Test;
 
+import edu.nyu.cs.pjm419.BloomDictionary;
+import edu.nyu.cs.pjm419.DictionaryList;
+import edu.nyu.cs.pjm419.DictionaryTrie;
 import edu.nyu.cs.pjm419.FindWords;
 
 public class FindWordsTest {
@@ -18,4 +32,123 @@ public class FindWordsTest {
 		assertEquals(true,FindWords.isLetters("ABCabc"));
 	}
 	
+	@Test
+	public void checkArgumentsTest() {
+		// one and two arguments, with no mode
+		assertNull(FindWords.checkArguments(new String[] {"testdict.txt"}));
+		assertNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune"}));
+		assertNull(FindWords.checkArguments(new String[] {"testdict.txt", "bloom", "server"}));
+		assertNull(FindWords.checkArguments(new String[] {"testdict.txt", "anagram", "batch"}));
+		assertNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune", "server", "65535"}));
+		assertNull(FindWords.checkArguments(new String[] {"testdict.txt", "SCAN", "batch"}));
+		assertNull(FindWords.checkArguments(new String[] {"testdict.txt", "permute", "compile", "out.bin"}));
+		
+		assertNotNull(FindWords.checkArguments(new String[] {}));
+		assertNotNull(FindWords.checkArguments(new String[] {"no_such_dict.txt"}));
+		assertNotNull(FindWords.checkArguments(new String[] {"testdict.txt", "sort"}));
+		assertNotNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune", "serve"}));
+		assertNotNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune", "compile"}));
+		assertNotNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune", "server", "http"}));
+		assertNotNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune", "server", "65536"}));
+		assertNotNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune", "server", "99999"}));
+		assertNotNull(FindWords.checkArguments(new String[] {"testdict.txt", "prune", "batch", "no_such_letters.txt"}));
+	}
+	
+	@Test
+	public void solveBatchTest() throws IOException {
+		DictionaryList list = new DictionaryList(new File("dictionary_10.txt"));
+		StringWriter out = new StringWriter();
+		FindWords.solveBatch(FindWords.PERMUTE, list,
+				new BufferedReader(new StringReader("tac\n\nTCA\nab1\nx\n")), out);
+		
+		// results come in the order they complete
+		List<String> lines = new ArrayList<String>(Arrays.asList(out.toString().split("\\r?\\n")));
+		Collections.sort(lines);
+		assertEquals(Arrays.asList("tac: act cat tac", "tca: act cat tac"), lines);
+	}
+	
+	@Test
+	public void solveBatchAnagramTest() throws IOException {
+		DictionaryList list = new DictionaryList(new File("TWL06.txt"));
+		String letters = "tac\nbanana\nretains\n";
+		StringWriter permuted = new StringWriter();
+		FindWords.solveBatch(FindWords.PERMUTE, list, new BufferedReader(new StringReader(letters)), permuted);
+		StringWriter indexed = new StringWriter();
+		FindWords.solveBatch(FindWords.ANAGRAM, list, new BufferedReader(new StringReader(letters)), indexed);
+		
+		// the same words as permuting, for each set
+		List<String> expected = new ArrayList<String>(Arrays.asList(permuted.toString().split("\\r?\\n")));
+		List<String> lines = new ArrayList<String>(Arrays.asList(indexed.toString().split("\\r?\\n")));
+		Collections.sort(expected);
+		Collections.sort(lines);
+		assertEquals(3, lines.size());
+		assertEquals(expected, lines);
+	}
+	
+	@Test
+	public void solveBatchBloomTest() throws IOException {
+		DictionaryList list = new DictionaryList(new File("dictionary_10.txt"));
+		StringWriter out = new StringWriter();
+		FindWords.solveBatch(FindWords.BLOOM, new BloomDictionary(list, FindWords.BLOOM_FALSE_POSITIVE_RATE),
+				new BufferedReader(new StringReader("tac\nabcdefghijk\n")), out);
+		StringWriter pruned = new StringWriter();
+		FindWords.solveBatch(FindWords.PRUNE, list, new BufferedReader(new StringReader("tac\nabcdefghijk\n")), pruned);
+		
+		// bloom prunes, so it takes as many letters as prune, with the same words
+		assertEquals(pruned.toString(), out.toString());
+		assertEquals(true, out.toString().startsWith("tac: act cat tac"));
+		assertEquals(true, out.toString().contains("abcdefghijk:"));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void solveBatchNeedsListTest() throws IOException {
+		DictionaryTrie trie = new DictionaryTrie(new File("dictionary_10.txt"));
+		FindWords.solveBatch(FindWords.SCAN, trie, new BufferedReader(new StringReader("tac\n")), new StringWriter());
+	}
+	
+	@Test
+	public void solveBatchStreamingTest() throws IOException {
+		DictionaryList list = new DictionaryList(new File("dictionary_10.txt"));
+		StringWriter out = new StringWriter();
+		LineReader in = new LineReader(out, "tac", "ta");
+		FindWords.solveBatch(FindWords.PERMUTE, list, new BufferedReader(in), out);
+		
+		// the first result was written before the second line was read
+		assertEquals("", in.written.get(0));
+		assertEquals("tac: act cat tac", in.written.get(1).trim());
+	}
+	
+	/**
+	 * Reader which gives out one line per read, is never ready (like a
+	 * user typing), and notes what was written to <out> before each read.
+	 */
+	private static class LineReader extends Reader {
+		private StringWriter out;
+		private String[] lines;
+		private int next;
+		private List<String> written = new ArrayList<String>();
+		
+		LineReader(StringWriter out, String... lines) {
+			this.out = out;
+			this.lines = lines;
+		}
+		
+		@Override
+		public int read(char[] buffer, int offset, int length) {
+			if (next == lines.length) return -1;
+			written.add(out.toString());
+			String line = lines[next++] + "\n";
+			line.getChars(0, line.length(), buffer, offset);
+			return line.length();
+		}
+		
+		@Override
+		public boolean ready() {
+			return false;
+		}
+		
+		@Override
+		public void close() {
+		}
+	}
 }
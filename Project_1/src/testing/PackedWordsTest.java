@@ -0,0 +1,85 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.DictionaryList;
+
+public class PackedWordsTest {
+
+	@Test
+	public void sameAsUnpackedTest() {
+		for (String name : new String[] {"testdict.txt", "empty_dict.txt", "TWL06.txt"}) {
+			compare(new File(name));
+		}
+	}
+
+	@Test
+	public void unicodeTest() throws IOException {
+		// words with chars of one, two and three bytes, and a surrogate pair
+		String text = "cafe\ncaf\u00e9\ncaf\u00e9s\nna\u00efve\nstra\u00dfe\n\u03c9mega\n\u03c9megas\n"
+				+ "\u65e5\u672c\n\u65e5\u672c\u8a9e\n\ud834\udd1e\nzebra\n";
+		// the file is read with the default charset, so it can only hold what that can encode
+		Charset charset = Charset.defaultCharset();
+		if (!charset.newEncoder().canEncode(text)) return;
+
+		File file = File.createTempFile("unicode_dict", ".txt");
+		try {
+			Writer out = new OutputStreamWriter(new FileOutputStream(file), charset);
+			try {
+				out.write(text);
+			} finally {
+				out.close();
+			}
+			DictionaryList packed = new DictionaryList(file, true);
+			assertEquals(11, packed.size());
+			assertEquals(true, packed.contains("caf\u00e9"));
+			assertEquals(true, packed.contains("\u65e5\u672c\u8a9e"));
+			assertEquals(true, packed.containsPrefix("\u03c9m"));
+			assertEquals(false, packed.contains("\u65e5"));
+			compare(file);
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Checks that a packed and an unpacked DictionaryList of a file hold
+	 * the same words, and answer every word, every prefix of a word, and
+	 * the strings just before and after them the same way.
+	 */
+	private static void compare(File file) {
+		DictionaryList list = new DictionaryList(file);
+		DictionaryList packed = new DictionaryList(file, true);
+		assertEquals(list.size(), packed.size());
+		for (String probe : new String[] {"", "a", "\u00ff", "\uffff"}) {
+			check(list, packed, probe);
+		}
+		for (int i = 0; i < list.size(); i++) {
+			String word = list.get(i);
+			assertEquals(word, packed.get(i));
+			for (int end = 1; end <= word.length(); end++) {
+				check(list, packed, word.substring(0, end));
+			}
+			check(list, packed, word + "\u0000");
+			check(list, packed, word + "\uffff");
+			String before = word.substring(0, word.length() - 1) + (char) (word.charAt(word.length() - 1) - 1);
+			check(list, packed, before);
+		}
+	}
+
+	private static void check(DictionaryList list, DictionaryList packed, String probe) {
+		assertEquals(list.contains(probe), packed.contains(probe));
+		assertEquals(list.containsPrefix(probe), packed.containsPrefix(probe));
+		assertEquals(Arrays.toString(list.prefixRange(probe)), Arrays.toString(packed.prefixRange(probe)));
+	}
+}
@@ -0,0 +1,118 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.AnagramIndex;
+import edu.nyu.cs.pjm419.DictionaryList;
+import edu.nyu.cs.pjm419.DictionaryTrie;
+import edu.nyu.cs.pjm419.LetterFilter;
+import edu.nyu.cs.pjm419.SetOfLetters;
+import edu.nyu.cs.pjm419.WordCollector;
+
+public class SetOfLettersTest {
+
+	private DictionaryList list;
+	private DictionaryTrie trie;
+
+	@Before
+	public void setUp() throws Exception {
+		list = new DictionaryList(new File("TWL06.txt"));
+		trie = new DictionaryTrie(new File("TWL06.txt"));
+	}
+
+	@After
+	public void tearDown() {
+		list = null;
+		trie = null;
+	}
+
+	@Test
+	public void permutationsTest() {
+		SetOfLetters small = new SetOfLetters("tac", new DictionaryList(new File("dictionary_10.txt")));
+		assertEquals(new ArrayList<String>(Arrays.asList("act", "cat", "tac")), small.getPermutations());
+	}
+
+	@Test
+	public void prunedTest() {
+		for (String letters : new String[] {"banana", "retains", "aeilnrst"}) {
+			ArrayList<String> expected = new SetOfLetters(letters, list).getPermutations();
+			assertEquals(expected, new SetOfLetters(letters, list, true).getPermutations());
+			assertEquals(expected, new SetOfLetters(letters, trie, true).getPermutations());
+		}
+	}
+
+	@Test
+	public void parallelTest() {
+		ForkJoinPool pool = new ForkJoinPool();
+		for (String letters : new String[] {"a", "banana", "retains", "aeilnrst"}) {
+			ArrayList<String> expected = new SetOfLetters(letters, list).getPermutations();
+			assertEquals(expected, new SetOfLetters(letters, list, false, pool).getPermutations());
+			assertEquals(expected, new SetOfLetters(letters, list, true, pool).getPermutations());
+			assertEquals(expected, new SetOfLetters(letters, trie, true, pool).getPermutations());
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	public void searchTest() {
+		ArrayList<String> expected = new SetOfLetters("retains", trie, true).getPermutations();
+		WordCollector all = new WordCollector();
+		assertEquals(true, SetOfLetters.search("retains", trie, true, all));
+		assertEquals(expected, all.getWords());
+		assertEquals(false, all.isStopped());
+
+		// first page only
+		WordCollector page = new WordCollector(5);
+		assertEquals(false, SetOfLetters.search("retains", list, false, page));
+		assertEquals(expected.subList(0, 5), page.getWords());
+		assertEquals(true, page.isStopped());
+
+		// time limit already passed, so nothing is kept
+		WordCollector late = new WordCollector(Integer.MAX_VALUE, 0);
+		assertEquals(false, SetOfLetters.search("retains", list, true, late));
+		assertEquals(new ArrayList<String>(), late.getWords());
+
+		// the time limit also holds while no words are being found
+		DictionaryList empty = new DictionaryList(new File("empty_dict.txt"));
+		WordCollector none = new WordCollector(Integer.MAX_VALUE, 0);
+		assertEquals(false, SetOfLetters.search("abcdefghij", empty, false, none));
+		assertEquals(true, none.isStopped());
+		WordCollector dead = new WordCollector(Integer.MAX_VALUE, 0);
+		assertEquals(false, SetOfLetters.search("qqqqqxxxxx", trie, true, dead));
+		assertEquals(true, dead.isStopped());
+	}
+
+	@Test
+	public void anagramIndexTest() {
+		AnagramIndex index = new AnagramIndex(list);
+		for (String letters : new String[] {"banana", "retains", "aeilnrst"}) {
+			assertEquals(new SetOfLetters(letters, list).getPermutations(), index.findWords(letters));
+		}
+		assertEquals(new ArrayList<String>(Arrays.asList("act", "cat")), index.anagramsOf("tca"));
+		assertEquals(new ArrayList<String>(), index.anagramsOf("xq"));
+	}
+
+	@Test
+	public void letterFilterTest() {
+		LetterFilter filter = new LetterFilter(list);
+		for (String letters : new String[] {"banana", "retains", "aeilnrst"}) {
+			assertEquals(new SetOfLetters(letters, list, true).getPermutations(), filter.findWords(letters));
+		}
+		// more letters than the permutation search can handle
+		ArrayList<String> words = filter.findWords("abcdefghijklmnop");
+		assertEquals(true, words.contains("flamingo"));
+		assertEquals(false, words.contains("backfilling"));
+		// letters repeated more often than the packed counts can hold
+		assertEquals(new ArrayList<String>(Arrays.asList("aa", "aas", "as", "ass", "sass")),
+				filter.findWords("aaaaaaaaaasss"));
+	}
+}
@@ -0,0 +1,89 @@
+package testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Scanner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.pjm419.DictionaryDAWG;
+import edu.nyu.cs.pjm419.DictionaryList;
+import edu.nyu.cs.pjm419.WordLoader;
+
+public class WordLoaderTest {
+
+	private ArrayList<String> sorted;
+	private File shuffled;
+
+	@Before
+	public void setUp() throws Exception {
+		sorted = new ArrayList<String>();
+		Scanner scan = new Scanner(new File("TWL06.txt"));
+		while (scan.hasNext()) {
+			sorted.add(scan.next().toLowerCase());
+		}
+		scan.close();
+
+		ArrayList<String> words = new ArrayList<String>(sorted);
+		Collections.shuffle(words, new Random(419));
+		shuffled = File.createTempFile("shuffled", ".txt");
+		Writer out = new FileWriter(shuffled);
+		for (int i = 0; i < words.size(); i++) {
+			// mixed case and separators, as Scanner accepts
+			String word = words.get(i);
+			out.write(i % 3 == 0 ? word.toUpperCase() : word);
+			out.write(i % 5 == 0 ? " \t" : "\n");
+		}
+		out.close();
+	}
+
+	@After
+	public void tearDown() {
+		shuffled.delete();
+		sorted = null;
+	}
+
+	@Test
+	public void sortedTest() throws Exception {
+		assertEquals(sorted, Arrays.asList(WordLoader.load(new File("TWL06.txt"), 1)));
+		assertEquals(sorted, Arrays.asList(WordLoader.load(new File("TWL06.txt"), 7)));
+	}
+
+	@Test
+	public void unsortedTest() throws Exception {
+		assertEquals(sorted, Arrays.asList(WordLoader.load(shuffled, 1)));
+		assertEquals(sorted, Arrays.asList(WordLoader.load(shuffled, 4)));
+		assertEquals(sorted, Arrays.asList(WordLoader.load(shuffled, 7)));
+	}
+
+	@Test
+	public void smallTest() throws Exception {
+		assertEquals(0, WordLoader.load(new File("empty_dict.txt")).length);
+		assertEquals(Arrays.asList("act", "acta", "ats"),
+				Arrays.asList(WordLoader.load(new File("dictionary_10.txt"))).subList(0, 3));
+	}
+
+	@Test
+	public void dictionaryTest() {
+		DictionaryList list = new DictionaryList(shuffled);
+		DictionaryList packed = new DictionaryList(shuffled, true);
+		DictionaryDAWG dawg = new DictionaryDAWG(shuffled);
+		for (String word : sorted) {
+			assertEquals(true, list.contains(word));
+			assertEquals(true, packed.contains(word));
+			assertEquals(true, dawg.contains(word));
+		}
+		assertEquals(false, list.contains("zzzzq"));
+		assertEquals(false, dawg.contains("zzzzq"));
+		assertEquals(new DictionaryDAWG(new File("TWL06.txt")).size(), dawg.size());
+	}
+}
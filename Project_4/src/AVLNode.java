@@ -6,6 +6,11 @@
  * for its height. It also needs helper methods to determine its balance 
  * factor, and ability to update its own height. These are necessary to keep
  * the AVL tree balanced.
+ * 
+ * Each node also keeps the number of nodes in its subtree (itself
+ * included), which is updated along with its height, so that an AVL
+ * tree can find the k-th smallest item, or the rank of an item, by
+ * walking down a single path.
  *
  * @author    Peter Mountanos
  * @version   December 6th, 2014
@@ -18,6 +23,11 @@ public class AVLNode<T extends Comparable<T>> extends Node<T>{
 	 * Integer representing the current height of the node
 	 */
 	private int height;
+	/**
+	 * Integer representing the number of nodes in the subtree rooted at
+	 * the node, the node included
+	 */
+	private int size;
 	
 	/**
 	 * 
@@ -58,25 +68,45 @@ public class AVLNode<T extends Comparable<T>> extends Node<T>{
 		this.height = height;
 	}
 	
+	/**
+	 * Returns the number of nodes in the subtree rooted at the node.
+	 * 
+	 * @return the size of the subtree, the node included
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the number of nodes in a subtree which may be empty.
+	 * 
+	 * @param  tree root of the subtree, or null
+	 * @return the size of the subtree, or 0 if it is empty
+	 */
+	public static int sizeOf(Node<?> tree) {
+		return tree == null ? 0 : ((AVLNode<?>) tree).getSize();
+	}
+	
+	/**
+	 * Returns the height of a subtree which may be empty.
+	 * 
+	 * @param  tree root of the subtree, or null
+	 * @return the height of the subtree, or 0 if it is empty
+	 */
+	public static int heightOf(Node<?> tree) {
+		return tree == null ? 0 : ((AVLNode<?>) tree).getHeight();
+	}
+	
 	/**
 	 * Method used to calculate the balance factor of an AVLNode. 
 	 * The balance factor is defined as the difference between the
-	 * heights of the left and right subtrees of n. 
+	 * heights of the right and left subtrees of n, where an empty
+	 * subtree has height 0. 
 	 * 
 	 * @return the balance factor at node n
 	 */
 	public int balanceFactor() {
-		
-		// cast left and right subtrees to avl nodes
-		AVLNode<T> left  = (AVLNode<T>) this.getLeft();
-		AVLNode<T> right = (AVLNode<T>) this.getRight();
-		
-		// if either subtree of n is empty, just return n's height
-		if (left == null || right == null) 
-			return this.getHeight();
-		// else return the difference between right/left subtrees
-		else
-			return right.getHeight() - left.getHeight();
+		return heightOf(this.getRight()) - heightOf(this.getLeft());
 	}
 	
 	/**
@@ -85,7 +115,8 @@ public class AVLNode<T extends Comparable<T>> extends Node<T>{
 	 * This method is utilized after an insertion/removal from an
 	 * AVL Tree. The height of a node is based on the amount of sub-nodes
 	 * it contains. The height is the max between the left/right sub-nodes
-	 * plus one, to account for node n.
+	 * plus one, to account for node n. The size of the subtree is updated
+	 * the same way, as the sum of the left/right sizes plus one.
 	 */
 	public void updateHeight() {
 		
@@ -105,5 +136,7 @@ public class AVLNode<T extends Comparable<T>> extends Node<T>{
 		else
 			// get max between left/right height + 1
 			this.setHeight(Math.max(right.getHeight(), left.getHeight()) + 1);
+		
+		this.size = sizeOf(left) + sizeOf(right) + 1;
 	}
 }
@@ -1,11 +1,20 @@
+import java.util.Iterator;
+
 /**
  * Generic AVL Tree Implementation
  * 
  * This class follows the API outlined in the BST interface. It contains
  * all of the methods necessary to instantiate and follow the preconditions
- * set forth by an AVL tree. Note, the remove method for the AVL tree is not
- * implemented, but it is implemented for the BST class (which it used when 
- * called).
+ * set forth by an AVL tree. Both insert and remove rebalance the tree on
+ * the way back up from the node they change (see rebalance), so the
+ * height of the tree stays O(log n) however items are added and removed.
+ * verifyInvariants checks that the tree really is a valid AVL tree.
+ * 
+ * Since each node keeps the size of its subtree, the tree also answers
+ * ordered queries by walking down a single path, in O(log n): the floor
+ * and ceiling of an item, the rank of an item (the number of smaller
+ * items), and the k-th smallest item (select). rangeIterator iterates
+ * over the items between two bounds in O(log n + k) for k items.
  * 
  * @author    Peter Mountanos
  * @version   December 6th, 2014
@@ -21,10 +30,11 @@ public class AVLTree<T extends Comparable<T>> extends BSTRecursive<T>  {
 	 */
 	@Override
 	public void insert(T item) {
-		if (item != null) 
+		if (item != null) {
 			this.root = avlInsert(item, (AVLNode<T>) this.root);
-
-		this.size++;
+			this.size++;
+			this.modCount++;
+		}
 	}
 
 	/**
@@ -40,44 +50,223 @@ public class AVLTree<T extends Comparable<T>> extends BSTRecursive<T>  {
 	private AVLNode<T> avlInsert(T item, AVLNode<T> tree) {
 		// if the subtree is empty, make it the root
 		if (tree == null) 
-			tree = new AVLNode<T>(item);
+			return new AVLNode<T>(item);
 		// if the item should be in the left subtree (lte root)
-		else if (item.compareTo(tree.getData()) <= 0) {
-			// set left subtree to recursive avl insert value
+		else if (item.compareTo(tree.getData()) <= 0)
 			tree.setLeft(avlInsert(item, (AVLNode<T>) tree.getLeft()));
-			
-			// if the tree is off balance after insertion, balance it
-			// (left subtree has two more levels than right subtree)
-			if (tree.balanceFactor() == -2) {
-				if (item.compareTo(tree.getLeft().getData()) < 0) {
-					tree = balanceLL(tree);
-				}
-				else {
-					tree = balanceLR(tree);
-				}
-			}
-		}
 		// if the item should be in the right subtree (gt root)
-		else {
-			// set right subtree to recursive avl insert value
+		else
 			tree.setRight(avlInsert(item, (AVLNode<T>) tree.getRight()));
-			
-			// if the tree is off balance after insertion, balance it
-			// (right subtree has two more levels than its left subtree) 
-			if (tree.balanceFactor() == 2) { 
-				if (item.compareTo(tree.getRight().getData()) > 0) {
-					tree = balanceRR(tree);
-				}
-				else {
-					tree = balanceRL(tree);
-				}
-			}
+
+		// if the tree is off balance after insertion, balance it
+		return rebalance(tree);
+	}
+
+	/**
+	 * Method used to restore the balance of a subtree after one of its
+	 * subtrees was changed by an insertion or removal, which can change
+	 * the height of that subtree by at most one. It updates the height
+	 * of the subtree, and rotates it if one of its subtrees now has two
+	 * more levels than the other. Which rotation is used depends on the
+	 * balance of the taller subtree: if it leans the other way, a double
+	 * rotation is needed (after a removal, it may not lean either way, in
+	 * which case a single rotation is enough).
+	 * 
+	 * @param  tree the subtree whose subtrees may be off balance
+	 * @return the root of the balanced subtree
+	 */
+	private AVLNode<T> rebalance(AVLNode<T> tree) {
+		int balance = tree.balanceFactor();
+		// left subtree has two more levels than right subtree
+		if (balance == -2) {
+			if (((AVLNode<T>) tree.getLeft()).balanceFactor() <= 0) 
+				return balanceLL(tree);
+			else 
+				return balanceLR(tree);
+		}
+		// right subtree has two more levels than its left subtree
+		else if (balance == 2) {
+			if (((AVLNode<T>) tree.getRight()).balanceFactor() >= 0) 
+				return balanceRR(tree);
+			else 
+				return balanceRL(tree);
 		}
 		// update height of current subtree and then return it
 		tree.updateHeight();
 		return tree;
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see BSTRecursive#newNode(java.lang.Comparable, Node, Node)
+	 */
+	@Override
+	protected Node<T> newNode(T item, Node<T> left, Node<T> right) {
+		// the subtrees are built first, so the height is set as the tree is built
+		return new AVLNode<T>(item, (AVLNode<T>) left, (AVLNode<T>) right);
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see BSTRecursive#recRemove(java.lang.Comparable, Node)
+	 */
+	@Override
+	protected Node<T> recRemove(T item, Node<T> tree) {
+		// recRemove calls itself on the subtrees (and removeNode calls it to
+		// remove a predecessor), so every subtree on the path from the root
+		// down to the removed node is rebalanced, from the bottom up
+		Node<T> result = super.recRemove(item, tree);
+		if (result == null) return null;
+		return rebalance((AVLNode<T>) result);
+	}
+
+	/**
+	 * Method which checks that this tree is a valid AVL tree: the items
+	 * are in order, every node's height and size are right, the heights
+	 * of the two subtrees of every node differ by at most one, and the
+	 * size of the tree is the number of its nodes.
+	 * 
+	 * @throws IllegalStateException describing the first problem found
+	 */
+	public void verifyInvariants() {
+		int count = verify((AVLNode<T>) this.root, null, null);
+		if (count != this.size)
+			throw new IllegalStateException("size is " + this.size + " but the tree has " + count + " nodes");
+	}
+
+	/**
+	 * Recursively check the AVL invariants of a subtree (see verifyInvariants).
+	 * 
+	 * @param  tree root of the subtree
+	 * @param  lo no item of the subtree may be less than lo (null if no limit)
+	 * @param  hi no item of the subtree may be greater than hi (null if no limit)
+	 * @return the number of nodes in the subtree
+	 */
+	private int verify(AVLNode<T> tree, T lo, T hi) {
+		if (tree == null) return 0;
+		T data = tree.getData();
+		if ((lo != null && data.compareTo(lo) < 0) || (hi != null && data.compareTo(hi) > 0))
+			throw new IllegalStateException("<" + data + "> is out of order");
+
+		int count = verify((AVLNode<T>) tree.getLeft(), lo, data) 
+				+ verify((AVLNode<T>) tree.getRight(), data, hi) + 1;
+		int leftHeight = AVLNode.heightOf(tree.getLeft());
+		int rightHeight = AVLNode.heightOf(tree.getRight());
+		if (tree.getHeight() != Math.max(leftHeight, rightHeight) + 1)
+			throw new IllegalStateException("<" + data + "> has the wrong height " + tree.getHeight());
+		if (Math.abs(tree.balanceFactor()) > 1)
+			throw new IllegalStateException("<" + data + "> is off balance by " + tree.balanceFactor());
+		if (tree.getSize() != count)
+			throw new IllegalStateException("<" + data + "> has the wrong size " + tree.getSize());
+		return count;
+	}
+
+	/**
+	 * Method which finds the largest item in the tree that is less than
+	 * or equal to the given item.
+	 * 
+	 * @param  item the item to compare against
+	 * @return the largest item <= item, or null if there is none
+	 */
+	public T floor(T item) {
+		if (item == null) return null;
+		T floor = null;
+		Node<T> tree = this.root;
+		while (tree != null) {
+			int cmp = item.compareTo(tree.getData());
+			if (cmp == 0) return tree.getData();
+			// a smaller item is a candidate, but there may be a bigger one to its right
+			if (cmp > 0) {
+				floor = tree.getData();
+				tree = tree.getRight();
+			}
+			else tree = tree.getLeft();
+		}
+		return floor;
+	}
+
+	/**
+	 * Method which finds the smallest item in the tree that is greater
+	 * than or equal to the given item.
+	 * 
+	 * @param  item the item to compare against
+	 * @return the smallest item >= item, or null if there is none
+	 */
+	public T ceiling(T item) {
+		if (item == null) return null;
+		T ceiling = null;
+		Node<T> tree = this.root;
+		while (tree != null) {
+			int cmp = item.compareTo(tree.getData());
+			if (cmp == 0) return tree.getData();
+			// a bigger item is a candidate, but there may be a smaller one to its left
+			if (cmp < 0) {
+				ceiling = tree.getData();
+				tree = tree.getLeft();
+			}
+			else tree = tree.getRight();
+		}
+		return ceiling;
+	}
+
+	/**
+	 * Method which counts the items in the tree that are less than the
+	 * given item, which is the index the item has (or would have) in the
+	 * sorted order of the tree.
+	 * 
+	 * @param  item the item to rank (not null)
+	 * @return the number of items < item
+	 */
+	public int rank(T item) {
+		int rank = 0;
+		Node<T> tree = this.root;
+		while (tree != null) {
+			if (tree.getData().compareTo(item) < 0) {
+				// the node and all of its left subtree are smaller
+				rank += AVLNode.sizeOf(tree.getLeft()) + 1;
+				tree = tree.getRight();
+			}
+			else tree = tree.getLeft();
+		}
+		return rank;
+	}
+
+	/**
+	 * Method which finds the k-th smallest item in the tree, counting
+	 * from 0 (so select(rank(item)) is item, if item is in the tree).
+	 * 
+	 * @param  k index of the item in the sorted order of the tree
+	 * @return the k-th smallest item
+	 * @throws IndexOutOfBoundsException if k is not in [0, number of nodes)
+	 */
+	public T select(int k) {
+		if (k < 0 || k >= AVLNode.sizeOf(this.root))
+			throw new IndexOutOfBoundsException("no item at index " + k);
+		Node<T> tree = this.root;
+		while (true) {
+			int leftSize = AVLNode.sizeOf(tree.getLeft());
+			// the item is in the left subtree, is this node, or is in the right subtree
+			if (k < leftSize) tree = tree.getLeft();
+			else if (k == leftSize) return tree.getData();
+			else {
+				k -= leftSize + 1;
+				tree = tree.getRight();
+			}
+		}
+	}
+
+	/**
+	 * Method which generates an iterator over the items of the tree in
+	 * the range [lo, hi], in order (see BSTIterator).
+	 * 
+	 * @param  lo smallest item to return, or null to start from the first
+	 * @param  hi largest item to return, or null to go on to the last
+	 * @return an iterator over the items >= lo and <= hi
+	 */
+	public Iterator<T> rangeIterator(T lo, T hi) {
+		return new BSTIterator<T>(this, lo, hi);
+	}
+	
 	/**
 	 * Method to perform an LL rotation of an AVL (subtree) A.
 	 * 
@@ -10,7 +10,7 @@ import java.util.Iterator;
  * @version    December 6th, 2014
  * @param <T>  Any type that implements Comparable <T> 
  */
-public interface BST  <T extends Comparable <T>> {
+public interface BST  <T extends Comparable <T>> extends Iterable<T> {
 	
 	/**
 	 * Adds an item to the BST.
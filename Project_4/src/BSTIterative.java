@@ -0,0 +1,184 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Generic Binary Search Tree Implementation, without recursion
+ *
+ * This class follows the API outlined in the BST interface, with the same
+ * behaviour as BSTRecursive (duplicates go into the left subtree, and a
+ * node with two children is replaced by its predecessor when removed), but
+ * every operation walks the tree with a loop instead of recursive calls.
+ *
+ * Nothing balances a plain BST, so inserting sorted items makes a tree as
+ * deep as it is big, and the recursive methods overflow the call stack on
+ * such a tree well before 100,000 items. Here insert and remove keep track
+ * of the parent of the current node as they walk down, and toString keeps
+ * its own stack of nodes, so the depth of the tree is only limited by the
+ * heap, and no call is made per level of the tree.
+ *
+ * @author    Peter Mountanos
+ * @version   December 6th, 2014
+ * @param <T> Any type that implements Comparable <T>
+ * @see       BST
+ * @see       BSTRecursive
+ */
+public class BSTIterative<T extends Comparable<T>> extends BSTRecursive<T> {
+
+	/**
+	 * Constructor to create an empty binary search tree.
+	 */
+	public BSTIterative() {
+		super();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see BST#insert(java.lang.Comparable)
+	 */
+	@Override
+	public void insert(T item) {
+		if (item == null) return;
+
+		Node<T> node = new Node<T>(item);
+		if (this.root == null) {
+			this.root = node;
+		}
+		else {
+			// walk down to the bottom, remembering the last node passed
+			Node<T> parent = null;
+			Node<T> tree = this.root;
+			boolean left = false;
+			while (tree != null) {
+				parent = tree;
+				// go left if its less than or equal to current tree
+				left = item.compareTo(tree.getData()) <= 0;
+				tree = left ? tree.getLeft() : tree.getRight();
+			}
+			if (left) parent.setLeft(node);
+			else parent.setRight(node);
+		}
+		this.size++;
+		this.modCount++;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see BST#remove(java.lang.Comparable)
+	 */
+	@Override
+	public void remove(T item) {
+		// only search for remove if item isn't null
+		if (item == null) return;
+
+		// find the node to remove, and its parent
+		Node<T> parent = null;
+		Node<T> tree = this.root;
+		while (tree != null) {
+			int cmp = item.compareTo(tree.getData());
+			if (cmp == 0) break;
+			parent = tree;
+			tree = cmp < 0 ? tree.getLeft() : tree.getRight();
+		}
+		if (tree == null) return; // do nothing, item not in tree
+
+		if (tree.getLeft() != null && tree.getRight() != null) {
+			// if there's two children, go left once and then go all the
+			// way right to the predecessor, which takes the node's place
+			parent = tree;
+			Node<T> predecessor = tree.getLeft();
+			while (predecessor.getRight() != null) {
+				parent = predecessor;
+				predecessor = predecessor.getRight();
+			}
+			tree.setData(predecessor.getData());
+			tree = predecessor;
+		}
+
+		// the node now has at most one child, which takes its place
+		Node<T> child = tree.getLeft() != null ? tree.getLeft() : tree.getRight();
+		if (parent == null) this.root = child;
+		else if (parent.getLeft() == tree) parent.setLeft(child);
+		else parent.setRight(child);
+		this.size--;
+		this.modCount++;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see BST#get(java.lang.Comparable)
+	 */
+	@Override
+	public T get(T item) {
+		Node<T> node = this.find(item);
+		return node == null ? null : node.getData();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see BST#contains(java.lang.Comparable)
+	 */
+	@Override
+	public boolean contains(T item) {
+		return this.find(item) != null;
+	}
+
+	/**
+	 * Walks down this BST to the node whose value is equal to the value
+	 * of the parameter.
+	 *
+	 * @param  item the value whose node in the BST we are after
+	 * @return the first node on the way down whose value is equal to item,
+	 * 		   or null if there is none (or item is null)
+	 */
+	protected Node<T> find(T item) {
+		if (item == null) return null;
+		Node<T> tree = this.root;
+		while (tree != null) {
+			int cmp = item.compareTo(tree.getData());
+			if (cmp == 0) return tree; // element is found
+			// look in the left subtree if smaller, else the right subtree
+			tree = cmp < 0 ? tree.getLeft() : tree.getRight();
+		}
+		return null; // element not found
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder output = new StringBuilder();
+		if (this.root == null) return output.toString();
+
+		// the same layout as BSTRecursive's postOrderPrint: each node, then
+		// its left subtree, then its right subtree, indented by depth
+		Deque<Node<T>> nodes = new ArrayDeque<Node<T>>();
+		Deque<Integer> levels = new ArrayDeque<Integer>();
+		nodes.push(this.root);
+		levels.push(0);
+		while (!nodes.isEmpty()) {
+			Node<T> tree = nodes.pop();
+			int level = levels.pop();
+
+			output.append('\n');
+			if (level > 0) {
+				for (int i = 0; i < level - 1; i++)
+					output.append("   ");
+				output.append("|--");
+			}
+			output.append(tree.getData());
+
+			// push the right subtree first, so the left one is printed first
+			if (tree.getRight() != null) {
+				nodes.push(tree.getRight());
+				levels.push(level + 1);
+			}
+			if (tree.getLeft() != null) {
+				nodes.push(tree.getLeft());
+				levels.push(level + 1);
+			}
+		}
+		return output.toString();
+	}
+}
@@ -1,14 +1,30 @@
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.NoSuchElementException;
 
 /**
  * Generic Binary Search Tree External Iterator
- * 
+ *
  * This class constructs iterator objects for a generic
  * Binary Search Tree implementation. The iterator traversal
- * is an in-order traversal, per specification of the assignment. 
- * 
+ * is an in-order traversal, per specification of the assignment.
+ *
+ * The traversal is lazy: rather than copying the whole tree when it is
+ * created, the iterator keeps a stack of the nodes whose left subtrees
+ * it is inside of (at most one per level of the tree), and moves one
+ * node further each time next is called. So reading the first few items
+ * of a large tree only costs a walk down to its smallest item.
+ *
+ * An iterator can also be limited to the items in a range [lo, hi] (see
+ * AVLTree's rangeIterator), in which case it starts with a walk down to
+ * <lo>, and stops at the first item bigger than <hi>.
+ *
+ * The iterator fails fast: if the tree is changed other than by the
+ * iterator's own remove, the next call to next or remove throws a
+ * ConcurrentModificationException.
+ *
  * @author    Peter Mountanos
  * @version   December 6th, 2014
  * @param <T> Any type that implements Comparable <T>
@@ -20,59 +36,88 @@ public class BSTIterator<T extends Comparable<T>> implements Iterator<T> {
 	 */
 	private BSTRecursive<T> tree;
 	/**
-	 * Queue object utilized for a in-order traversal of the BST
+	 * Stack of the nodes still to be visited, along with their right
+	 * subtrees; the next node in order is on top
 	 */
-	private Queue<T> queue;
+	private Deque<Node<T>> stack = new ArrayDeque<Node<T>>();
+	/**
+	 * Largest item the iterator returns, or null to go on to the end
+	 */
+	private T hi;
+	/**
+	 * Value of the tree's modCount the iterator expects
+	 */
+	private int expectedModCount;
+	/**
+	 * Item last returned by next
+	 */
+	private T last;
+	/**
+	 * Number of items equal to <last> returned in a row, up to and
+	 * including <last> (the tree may hold duplicates)
+	 */
+	private int lastCount;
+	/**
+	 * True if remove may be called (next was called since the last remove)
+	 */
+	private boolean canRemove;
 
 	/**
 	 * Constructor which instantiates an iterator for a BST object.
 	 * This iterator iterates over the BST via an in-order traversal
-	 * 
+	 *
 	 * @param tree reference to BST to iterate over
 	 */
 	public BSTIterator(BSTRecursive<T> tree) {
-		this.tree = tree;
-		this.initializeQueue();
+		this(tree, null, null);
 	}
 
 	/**
-	 * Method to initialize the queue utilized for the in-order 
-	 * traversal of the BST. 
+	 * Constructor which instantiates an iterator over the items of a BST
+	 * which are in the range [lo, hi], in order.
+	 *
+	 * @param tree reference to BST to iterate over
+	 * @param lo smallest item to return, or null to start from the first
+	 * @param hi largest item to return, or null to go on to the last
 	 */
-	private void initializeQueue() {
-		this.queue = new LinkedList<T>();
-		this.inOrder(this.tree.root);
+	public BSTIterator(BSTRecursive<T> tree, T lo, T hi) {
+		this.tree = tree;
+		this.hi = hi;
+		this.expectedModCount = tree.modCount;
+		if (lo == null) this.pushLeft(tree.root);
+		else this.seek(lo, 0);
 	}
 
 	/**
-	 * Recursive method which provides an in-order traversal of
-	 * a BST, adding to a queue in order, which is then utilized
-	 * by the iterator methods.
-	 * 
-	 * @param subTree the current sub-tree of the BST during in-order
-	 * 		  traversal (reference to a BSTNode)
+	 * Method which walks all the way down the left subtrees from a node,
+	 * pushing every node passed, so the smallest one ends up on top.
+	 *
+	 * @param subTree the sub-tree of the BST to start from (may be null)
 	 */
-	private void inOrder(Node<T> subTree) {
-		// don't want to keep adding if the tree is empty
-		if (subTree != null) {
-			// recursive call to left subtree
-			inOrder(subTree.getLeft());
-			// add current data to queue
-			queue.add(subTree.getData());
-			// recursive call to right subtree
-			inOrder(subTree.getRight());
+	private void pushLeft(Node<T> subTree) {
+		while (subTree != null) {
+			this.stack.push(subTree);
+			subTree = subTree.getLeft();
 		}
 	}
 
+	/**
+	 * Method which checks that the tree was only changed through this
+	 * iterator since it was created.
+	 */
+	private void checkForModification() {
+		if (this.tree.modCount != this.expectedModCount)
+			throw new ConcurrentModificationException();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.util.Iterator#hasNext()
 	 */
 	@Override
 	public boolean hasNext() {
-		// if the queue is null or empty, there's no next item
-		if (queue == null || queue.isEmpty()) return false;
-		else return true;
+		if (this.stack.isEmpty()) return false;
+		return this.hi == null || this.stack.peek().getData().compareTo(this.hi) <= 0;
 	}
 
 	/*
@@ -81,9 +126,19 @@ public class BSTIterator<T extends Comparable<T>> implements Iterator<T> {
 	 */
 	@Override
 	public T next() {
-		// pop off the queue if there's something to pop
-		if (this.hasNext()) return this.queue.remove();
-		else return null; 
+		this.checkForModification();
+		if (!this.hasNext()) throw new NoSuchElementException();
+
+		// visit the top node, then everything in its right subtree
+		Node<T> node = this.stack.pop();
+		this.pushLeft(node.getRight());
+
+		T item = node.getData();
+		if (this.last != null && this.last.compareTo(item) == 0) this.lastCount++;
+		else this.lastCount = 1;
+		this.last = item;
+		this.canRemove = true;
+		return item;
 	}
 
 	/*
@@ -92,8 +147,43 @@ public class BSTIterator<T extends Comparable<T>> implements Iterator<T> {
 	 */
 	@Override
 	public void remove() {
-		// said we don't need to implement for project 
-		// but believe this is correct (removes in-order next object)
-		if (this.hasNext()) tree.remove(this.queue.remove());
+		if (!this.canRemove) throw new IllegalStateException();
+		this.checkForModification();
+
+		// removing can move items between nodes (and an AVL tree can rotate
+		// them), so the stack is rebuilt from the root afterwards
+		this.tree.remove(this.last);
+		this.expectedModCount = this.tree.modCount;
+		this.canRemove = false;
+		this.lastCount--;
+		this.seek(this.last, this.lastCount);
+	}
+
+	/**
+	 * Method which rebuilds the stack so that the iterator is just past
+	 * the first <skip> items equal to <item>: the walk down from the root
+	 * pushes every node at least as big as <item> and goes left from it,
+	 * and goes right from the others, which leaves the first item not less
+	 * than <item> on top.
+	 *
+	 * @param item the item to find
+	 * @param skip number of items equal to <item> already returned
+	 */
+	private void seek(T item, int skip) {
+		this.stack.clear();
+		Node<T> subTree = this.tree.root;
+		while (subTree != null) {
+			if (subTree.getData().compareTo(item) >= 0) {
+				this.stack.push(subTree);
+				subTree = subTree.getLeft();
+			}
+			else {
+				subTree = subTree.getRight();
+			}
+		}
+		for (int i = 0; i < skip; i++) {
+			Node<T> node = this.stack.pop();
+			this.pushLeft(node.getRight());
+		}
 	}
 }
@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.Iterator;
 
 /**
@@ -23,6 +24,11 @@ public class BSTRecursive<T extends Comparable<T>> implements BST<T> {
 	 * Variable storing the current size of the dictionary
 	 */
 	protected int size;
+	/**
+	 * Number of times the tree has been changed, so that iterators can
+	 * tell if the tree was changed under them
+	 */
+	protected int modCount;
 
 	/**
 	 * Constructor to create an empty binary search tree. 
@@ -38,9 +44,11 @@ public class BSTRecursive<T extends Comparable<T>> implements BST<T> {
 	 */
 	@Override
 	public void insert(T item) {
-		if (item != null) 
+		if (item != null) {
 			this.root = recInsert(item, root);
-		this.size++;
+			this.size++;
+			this.modCount++;
+		}
 	}
 
 	/**
@@ -63,6 +71,74 @@ public class BSTRecursive<T extends Comparable<T>> implements BST<T> {
 		return tree;
 	}
 
+	/**
+	 * Replaces the contents of this BST with the items of a sorted
+	 * array (see buildFromSorted(Iterator, int)).
+	 * 
+	 * @param sorted the items, in sorted order, none of them null
+	 */
+	public void buildFromSorted(T[] sorted) {
+		this.buildFromSorted(Arrays.asList(sorted).iterator(), sorted.length);
+	}
+
+	/**
+	 * Replaces the contents of this BST with <count> items taken from a
+	 * sorted iterator, in one pass. The tree is built bottom-up: the
+	 * middle item becomes the root, with the items before it built into
+	 * the left subtree and the items after it into the right subtree, so
+	 * the tree is perfectly balanced, and no items are compared.
+	 * 
+	 * Since the items aren't compared, a run of equal items is split
+	 * wherever the middle falls, so unlike after insert, an item may have
+	 * equal items in its right subtree as well as its left. Every search
+	 * stops at the first equal item it meets, so this changes nothing but
+	 * the shape of the tree.
+	 * 
+	 * @param sorted iterator over the items, in sorted order, none of them null
+	 * @param count number of items to take from <sorted>
+	 * @throws IllegalArgumentException if <count> is negative
+	 * @throws java.util.NoSuchElementException if <sorted> has fewer than
+	 * 		   <count> items (the tree is then left as it was)
+	 */
+	public void buildFromSorted(Iterator<T> sorted, int count) {
+		if (count < 0)
+			throw new IllegalArgumentException("negative count " + count);
+		this.root = buildBalanced(sorted, count);
+		this.size = count;
+		this.modCount++;
+	}
+
+	/**
+	 * Recursively build a balanced subtree from the next <count> items
+	 * of a sorted iterator. The items are taken in order: the left
+	 * subtree's first, then the root's, then the right subtree's.
+	 * 
+	 * @param  sorted iterator over the items, in sorted order
+	 * @param  count number of items in the subtree
+	 * @return the root of the subtree (null if <count> is 0)
+	 */
+	protected Node<T> buildBalanced(Iterator<T> sorted, int count) {
+		if (count == 0) return null;
+		int leftCount = (count - 1) / 2;
+		Node<T> left = buildBalanced(sorted, leftCount);
+		T item = sorted.next();
+		Node<T> right = buildBalanced(sorted, count - 1 - leftCount);
+		return newNode(item, left, right);
+	}
+
+	/**
+	 * Creates a node of the kind this BST is made of. Subclasses whose
+	 * nodes hold more (like AVLTree's) override this.
+	 * 
+	 * @param  item data to be stored in the node
+	 * @param  left the left subtree of the node
+	 * @param  right the right subtree of the node
+	 * @return the new node
+	 */
+	protected Node<T> newNode(T item, Node<T> left, Node<T> right) {
+		return new Node<T>(item, left, right);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see BST#remove(java.lang.Comparable)
@@ -107,11 +183,13 @@ public class BSTRecursive<T extends Comparable<T>> implements BST<T> {
 		// if there's only a right child return it
 		if (tree.getLeft() == null) {
 			this.size--;
+			this.modCount++;
 			return tree.getRight();
 		}
 		// if there's only a left child return it
 		else if (tree.getRight() == null) {
 			this.size--;
+			this.modCount++;
 			return tree.getLeft();
 		}
 		// if there's two children
@@ -0,0 +1,248 @@
+import java.util.concurrent.atomic.AtomicLong;
+/**
+ * Class which puts a Bloom filter (see BloomFilter) in front of any
+ * Dictionary, to answer most lookups of words that aren't in it without
+ * searching the dictionary at all.
+ * 
+ * Most of the permutations a search generates are not words, so most
+ * calls to contains return false. The filter rejects all but a small
+ * fraction of those (the false-positive rate it was built with) with a
+ * hash of the word and a few bit tests, and only the rest are passed on
+ * to the dictionary's own search. So the answers are exactly those of
+ * the dictionary, only faster.
+ * 
+ * A second filter holds every prefix of every word, and does the same
+ * for containsPrefix: most of the prefixes a pruned search tries are
+ * dead, and the filter rejects most of those without a search.
+ * 
+ * The filters are sized from the number of words and the number of
+ * distinct prefixes, and filled from the words of the dictionary when
+ * the BloomDictionary is built, so the dictionary must be Iterable.
+ * 
+ * If built with counting on, counters record how many lookups each
+ * filter rejected (misses), how many it passed on (hits), and how many
+ * of those the dictionary then rejected (false positives). Counting is
+ * off by default: the counters are atomic, but every lookup would write
+ * to the same few of them, which slows down threads searching at once,
+ * so it is only meant for measuring how well the filters work.
+ * 
+ * @author Peter Mountanos
+ * @version December 6th, 2014
+ */
+public class BloomDictionary implements Dictionary {
+
+	/*FIELDS*/
+
+	/**Dictionary the lookups the filter passes are answered by*/
+	private Dictionary dict;
+	/**Filter of the words of <dict>*/
+	private BloomFilter words;
+	/**Filter of the prefixes of the words of <dict>*/
+	private BloomFilter prefixes;
+	/**True if lookups are counted*/
+	private boolean counting;
+	/**Number of lookups passed on to <dict>*/
+	private AtomicLong hits = new AtomicLong();
+	/**Number of lookups rejected by the filter*/
+	private AtomicLong misses = new AtomicLong();
+	/**Number of lookups passed on to <dict> that it rejected*/
+	private AtomicLong falsePositives = new AtomicLong();
+	/**Number of prefix lookups passed on to <dict>*/
+	private AtomicLong prefixHits = new AtomicLong();
+	/**Number of prefix lookups rejected by the prefix filter*/
+	private AtomicLong prefixMisses = new AtomicLong();
+	/**Number of prefix lookups passed on to <dict> that it rejected*/
+	private AtomicLong prefixFalsePositives = new AtomicLong();
+
+	/**
+	 * Constructor which builds the filters for a dictionary, without
+	 * counting lookups.
+	 * 
+	 * @param dict the dictionary, whose words are gone through twice:
+	 * 		  once to count the distinct prefixes, and once to fill the
+	 * 		  filters (preferably in sorted order)
+	 * @param falsePositiveRate fraction of the words (and prefixes) not
+	 * 		  in <dict> that the filters are to pass on (e.g., 0.01)
+	 * @throws IllegalArgumentException if <falsePositiveRate> is not
+	 * 		   between 0 and 1
+	 */
+	public <D extends Dictionary & Iterable<String>> BloomDictionary(D dict, double falsePositiveRate){
+		this(dict, falsePositiveRate, false);
+	}
+
+	/**
+	 * Constructor which builds the filters for a dictionary.
+	 * 
+	 * @param dict the dictionary, whose words are gone through twice:
+	 * 		  once to count the distinct prefixes, and once to fill the
+	 * 		  filters (preferably in sorted order)
+	 * @param falsePositiveRate fraction of the words (and prefixes) not
+	 * 		  in <dict> that the filters are to pass on (e.g., 0.01)
+	 * @param counting true to count the lookups (see getHits)
+	 * @throws IllegalArgumentException if <falsePositiveRate> is not
+	 * 		   between 0 and 1
+	 */
+	public <D extends Dictionary & Iterable<String>> BloomDictionary(D dict, double falsePositiveRate, boolean counting){
+		this.dict = dict;
+		this.counting = counting;
+		this.words = new BloomFilter(dict.size(), falsePositiveRate);
+		this.prefixes = new BloomFilter(countPrefixes(dict), falsePositiveRate);
+
+		String previous = "";
+		for (String word : dict){
+			this.words.add(word);
+			// prefixes shared with the previous word are already in the filter
+			this.prefixes.addPrefixes(word, commonPrefix(previous, word) + 1);
+			previous = word;
+		}
+	}
+
+	/*GETTERS*/
+
+	public Dictionary getDict(){
+		return this.dict;
+	}
+
+	public BloomFilter getFilter(){
+		return this.words;
+	}
+
+	public BloomFilter getPrefixFilter(){
+		return this.prefixes;
+	}
+
+	public boolean isCounting(){
+		return this.counting;
+	}
+
+	/**
+	 * @return the number of lookups the filter passed on to the dictionary
+	 * 		   (like the other counts, always 0 unless counting is on)
+	 */
+	public long getHits(){
+		return this.hits.get();
+	}
+
+	/**
+	 * @return the number of lookups the filter rejected by itself
+	 */
+	public long getMisses(){
+		return this.misses.get();
+	}
+
+	/**
+	 * @return the number of lookups the filter passed on, but the
+	 * 		   dictionary rejected
+	 */
+	public long getFalsePositives(){
+		return this.falsePositives.get();
+	}
+
+	/**
+	 * @return the number of prefix lookups the prefix filter passed on
+	 * 		   to the dictionary
+	 */
+	public long getPrefixHits(){
+		return this.prefixHits.get();
+	}
+
+	/**
+	 * @return the number of prefix lookups the prefix filter rejected
+	 * 		   by itself
+	 */
+	public long getPrefixMisses(){
+		return this.prefixMisses.get();
+	}
+
+	/**
+	 * @return the number of prefix lookups the prefix filter passed on,
+	 * 		   but the dictionary rejected
+	 */
+	public long getPrefixFalsePositives(){
+		return this.prefixFalsePositives.get();
+	}
+
+	/*INSTANCE METHODS*/
+
+	/*
+	 * (non-Javadoc)
+	 * @see Dictionary#contains(java.lang.String)
+	 */
+	@Override
+	public boolean contains(String item){
+		if (!this.words.mightContain(item)){
+			if (this.counting) this.misses.incrementAndGet();
+			return false;
+		}
+		boolean found = this.dict.contains(item);
+		if (this.counting){
+			this.hits.incrementAndGet();
+			if (!found) this.falsePositives.incrementAndGet();
+		}
+		return found;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see Dictionary#containsPrefix(java.lang.String)
+	 */
+	@Override
+	public boolean containsPrefix(String item){
+		// the empty prefix isn't in the filter, so it always goes to the dictionary
+		if (item.length() > 0 && !this.prefixes.mightContain(item)){
+			if (this.counting) this.prefixMisses.incrementAndGet();
+			return false;
+		}
+		boolean found = this.dict.containsPrefix(item);
+		if (this.counting){
+			this.prefixHits.incrementAndGet();
+			if (!found) this.prefixFalsePositives.incrementAndGet();
+		}
+		return found;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see Dictionary#size()
+	 */
+	@Override
+	public int size(){
+		return this.dict.size();
+	}
+
+	/*CLASS METHODS*/
+
+	/**
+	 * Method which counts the distinct non-empty prefixes of a list of
+	 * words: each word adds the prefixes longer than the one it shares
+	 * with the word before it. For sorted words the count is exact, and
+	 * otherwise it is too large, which only makes the filter larger.
+	 * 
+	 * @param words the words
+	 * @return the number of distinct prefixes, or more
+	 */
+	private static int countPrefixes(Iterable<String> words){
+		long count = 0;
+		String previous = "";
+		for (String word : words){
+			count += word.length() - commonPrefix(previous, word);
+			previous = word;
+		}
+		return (int) Math.min(count, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Method which finds the length of the longest common prefix
+	 * of two strings.
+	 * 
+	 * @param a the first string
+	 * @param b the second string
+	 * @return the number of chars <a> and <b> start with in common
+	 */
+	private static int commonPrefix(String a, String b){
+		int n = Math.min(a.length(), b.length());
+		int i = 0;
+		while (i < n && a.charAt(i) == b.charAt(i)) i++;
+		return i;
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * Class which implements a Bloom filter over strings: a set which can
+ * tell that a string is definitely not in it, or that it possibly is,
+ * using a fixed number of bits per string, however long the strings.
+ * 
+ * The filter is a bitset of m bits, kept in a long[]. Adding a string
+ * sets k of the bits, chosen by hashing the string, so a string can only
+ * have been added if all k of its bits are set. m and k are chosen from
+ * the number of strings n to be added and the false-positive rate p
+ * wanted: m = -n ln p / (ln 2)^2 bits, and k = (m / n) ln 2 probes. The k
+ * bits are found by double hashing: probe i uses h1 + i*h2, where h1 and
+ * h2 are the two halves of one 64-bit hash of the string.
+ * 
+ * Once nothing more is added to it, the filter is only read, so it may
+ * be queried by several threads at once.
+ * 
+ * @author Peter Mountanos
+ * @version December 6th, 2014
+ */
+public class BloomFilter {
+
+	/*CONSTANTS*/
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	/**Largest number of bits a filter can have*/
+	private static final int MAX_BITS = Integer.MAX_VALUE - 63;
+
+	/*FIELDS*/
+
+	/**The bitset, 64 bits to a long*/
+	private long[] bits;
+	/**Number of bits used, m*/
+	private int numBits;
+	/**Number of bits set per string, k*/
+	private int numHashes;
+	/**Number of strings added*/
+	private int count = 0;
+
+	/**
+	 * Constructor for an empty filter, sized for a number of strings
+	 * and a false-positive rate.
+	 * 
+	 * @param expected number of strings that will be added
+	 * @param falsePositiveRate fraction of the strings that were not
+	 * 		  added which the filter may still report as possibly added,
+	 * 		  once <expected> strings have been added
+	 * @throws IllegalArgumentException if <falsePositiveRate> is not
+	 * 		   between 0 and 1
+	 */
+	public BloomFilter(int expected, double falsePositiveRate){
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)){
+			throw new IllegalArgumentException("false-positive rate " + falsePositiveRate
+					+ " is not between 0 and 1");
+		}
+		int n = Math.max(expected, 1);
+		double ln2 = Math.log(2);
+		double m = Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+		this.numBits = (int) Math.max(64, Math.min(m, MAX_BITS));
+		this.numHashes = (int) Math.max(1, Math.round((double) this.numBits / n * ln2));
+		this.bits = new long[(this.numBits + 63) / 64];
+	}
+
+	/*GETTERS*/
+
+	public int getNumBits(){
+		return this.numBits;
+	}
+
+	public int getNumHashes(){
+		return this.numHashes;
+	}
+
+	/**
+	 * @return the number of strings added (a string added twice
+	 * 		   counts twice)
+	 */
+	public int size(){
+		return this.count;
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Adds a string to the filter.
+	 * 
+	 * @param s string to be added
+	 */
+	public void add(String s){
+		this.addHash(hash(s));
+	}
+
+	/**
+	 * Adds the prefixes of a string that are at least <from> chars
+	 * long, up to the whole string. The hash of each prefix is carried
+	 * on to the next one a char at a time, so no substrings are made.
+	 * 
+	 * @param s string whose prefixes are to be added
+	 * @param from length of the shortest prefix to be added (at least 1)
+	 */
+	public void addPrefixes(String s, int from){
+		long hash = FNV_OFFSET;
+		for (int i = 0; i < s.length(); i++){
+			hash = (hash ^ s.charAt(i)) * FNV_PRIME;
+			if (i + 1 >= from) this.addHash(mix(hash));
+		}
+	}
+
+	/**
+	 * Method to determine whether a string may have been added.
+	 * 
+	 * @param s string to be looked up
+	 * @return false if <s> was definitely never added, true if it may
+	 * 		   have been
+	 */
+	public boolean mightContain(String s){
+		return this.mightContainHash(hash(s));
+	}
+
+	/**
+	 * Sets the bits of a string, given its hash.
+	 * 
+	 * @param hash the hash of the string (see hash)
+	 */
+	void addHash(long hash){
+		long h1 = hash & 0xffffffffL;
+		long h2 = hash >>> 32;
+		for (int i = 0; i < this.numHashes; i++){
+			int bit = (int) ((h1 + i * h2) % this.numBits);
+			this.bits[bit >>> 6] |= 1L << bit;
+		}
+		this.count++;
+	}
+
+	/**
+	 * Tests the bits of a string, given its hash.
+	 * 
+	 * @param hash the hash of the string (see hash)
+	 * @return false if some bit of the string is not set
+	 */
+	boolean mightContainHash(long hash){
+		long h1 = hash & 0xffffffffL;
+		long h2 = hash >>> 32;
+		for (int i = 0; i < this.numHashes; i++){
+			int bit = (int) ((h1 + i * h2) % this.numBits);
+			if ((this.bits[bit >>> 6] & (1L << bit)) == 0) return false;
+		}
+		return true;
+	}
+
+	/*CLASS METHODS*/
+
+	/**
+	 * Method which computes the 64-bit hash the filter uses for a
+	 * string: FNV-1a over its chars, followed by a final mix so that
+	 * both halves depend on every char.
+	 * 
+	 * @param s the string
+	 * @return the hash of <s>
+	 */
+	static long hash(String s){
+		long hash = FNV_OFFSET;
+		for (int i = 0; i < s.length(); i++){
+			hash = (hash ^ s.charAt(i)) * FNV_PRIME;
+		}
+		return mix(hash);
+	}
+
+	/**
+	 * Method which mixes the bits of a hash (the finalizer of
+	 * MurmurHash3), so that every bit of the result depends on
+	 * every bit of <h>.
+	 * 
+	 * @param h the hash to be mixed
+	 * @return the mixed hash
+	 */
+	static long mix(long h){
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -5,6 +5,11 @@
  * needs in order to search for permutations of a user inputed
  * word in the dictionary.
  * 
+ * The searches (contains, containsPrefix and size) only read the
+ * dictionary, so any number of threads may search one at once, as the
+ * parallel search and the server do, provided that nothing changes it
+ * while they do (such as DictionaryAVL's insert and remove).
+ * 
  * @author     Peter Mountanos
  * @version    December 6th, 2014
  */
@@ -1,6 +1,7 @@
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Class which provides an ADT for a Dictionary Representation.
@@ -14,6 +15,8 @@ import java.util.Scanner;
  * word is in the dictionary. However, a user can also search to see if a
  * certain prefix exists in words in the dictionary. (i.e., if the dictionary
  * contains the word 'alphabet', the prefix 'alpha' exists in that dictionary).
+ * Beyond whether a prefix exists, completions lists the words that start
+ * with it, in O(log n + k) for k words.
  * 
  * @author Peter Mountanos
  * @version December 6th, 2014
@@ -46,30 +49,21 @@ public class DictionaryAVL extends AVLTree<String> implements Dictionary {
 	 * Method which populates the Dictionary AVL Tree using a text file
 	 * path given by the src field.
 	 * 
-	 * This method scans the text file line by line, and inserts words into
-	 * the AVLTree. This method assumes that the text file contains a
-	 * sorted list of words, one per line.
+	 * The words are read with a WordLoader, which returns them sorted
+	 * (sorting them if the file wasn't), so the balanced tree is built
+	 * from them directly (see buildFromSorted), instead of inserting
+	 * them one at a time with rotations.
 	 */
 	private void populate() {
-		// initialize scanner object to null
-		Scanner scan = null; 
-
 		// need try-catch by constructs of java, but error-handling
 		// was already taken care of in the FindWords class when filename
 		// was accepted as command line input
 		try { 
-			scan = new Scanner(this.src);
-			while (scan.hasNext()){
-				// add words line-by-line, as lower-case (assumes string input
-				// is lower-case => facilitates search process)
-				this.insert(scan.next().toLowerCase());
-			}
-		} catch (FileNotFoundException e) {
+			// words come back lower-case (assumes string input is
+			// lower-case => facilitates search process)
+			this.buildFromSorted(WordLoader.load(this.src));
+		} catch (IOException e) {
 		}// error already handled in FindWords;
-		finally {
-			scan.close();
-		}
-		//System.out.println(this);
 	}
 
 	/*
@@ -84,6 +78,48 @@ public class DictionaryAVL extends AVLTree<String> implements Dictionary {
 		return false;
 	}
 
+	/**
+	 * Method which generates an iterator over the words of the dictionary
+	 * that start with a prefix (every word, if the prefix is empty), in
+	 * sorted order. Those words are all next to each other in the tree,
+	 * starting at the prefix itself, so the iteration walks down to the
+	 * first of them, and then stops at the first word past them.
+	 * 
+	 * @param  prefix prefix of the words to be returned
+	 * @return an iterator over the words starting with <prefix>
+	 */
+	public Iterator<String> completions(final String prefix) {
+		final Iterator<String> words = this.rangeIterator(prefix, null);
+		return new Iterator<String>() {
+			/**Next word starting with the prefix, or null if there are no more*/
+			private String next = this.advance();
+
+			private String advance() {
+				if (!words.hasNext()) return null;
+				String word = words.next();
+				return word.startsWith(prefix) ? word : null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return this.next != null;
+			}
+
+			@Override
+			public String next() {
+				if (this.next == null) throw new NoSuchElementException();
+				String word = this.next;
+				this.next = this.advance();
+				return word;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("the dictionary can't be changed");
+			}
+		};
+	}
+
 	/**
 	 * recContainsPrefix Method for DictionaryAVL 
 	 * 
@@ -100,17 +136,38 @@ public class DictionaryAVL extends AVLTree<String> implements Dictionary {
 		// if reached a null node, prefix wasn't found
 		if (current == null) return false;
 
-		// get "prefix" of current word in AVLNode 
-		String currentPrefix = current.getData().substring(0, item.length());
+		// compare the prefix with the start of the current word
+		int cmp = comparePrefix(item, current.getData());
 
 		// if less than current word, search left subtree
-		if (item.compareTo(currentPrefix) < 0) {
+		if (cmp < 0) {
 			return this.recContainsPrefix(item, (AVLNode<String>) current.getLeft());
 		}
 		// if greater than current word, search right subtree
-		else if (item.compareTo(currentPrefix) > 0) {
+		else if (cmp > 0) {
 			return this.recContainsPrefix(item, (AVLNode<String>) current.getRight());
 		}
 		else return true; // found it
 	}
+
+	/**
+	 * Compares a prefix with the first item.length() letters of a word,
+	 * without creating a substring. A word shorter than the prefix is
+	 * compared as a whole (so the prefix sorts after it if the word is
+	 * a prefix of it).
+	 * 
+	 * @param item prefix being searched for
+	 * @param word word stored in the tree
+	 * @return negative, zero, or positive as the prefix is less than, 
+	 * 		   equal to, or greater than the start of the word
+	 */
+	static int comparePrefix(String item, String word) {
+		for (int i = 0; i < item.length(); i++) {
+			// word ran out first, so the prefix sorts after it
+			if (i == word.length()) return 1;
+			int diff = item.charAt(i) - word.charAt(i);
+			if (diff != 0) return diff;
+		}
+		return 0;
+	}
 }
@@ -0,0 +1,213 @@
+import java.io.*;
+import java.net.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+/**
+ * Class which serves a Dictionary over a local TCP socket, so that a
+ * dictionary loaded once can answer lookups from other processes,
+ * instead of each lookup starting a JVM and loading the dictionary.
+ * 
+ * The server only listens on the loopback address. Every connection is
+ * served by its own thread, with a simple line protocol: each request
+ * is one line, and is answered by exactly one line.
+ *  - contains <word>      "true" or "false"
+ *  - prefix <prefix>      "true" or "false" (see containsPrefix)
+ *  - words <letters>      the words that can be made from the letters
+ *                         (see SetOfLetters), separated by spaces
+ *  - size                 the number of words in the dictionary
+ *  - quit                 closes the connection (no answer)
+ * A request that can't be answered is answered by "error" and a message.
+ * Words and letters are treated as lower case.
+ * 
+ * The search of a words request is bounded (see WordCollector): if it
+ * finds more than a maximum number of words, or runs past a time limit,
+ * it is stopped, and the request is answered by an error. So a long
+ * string of letters can't hold a connection's thread indefinitely.
+ * 
+ * Requests may be pipelined: a client can send many requests without
+ * waiting for the answers, which come back in the same order. Answers
+ * are buffered, and only flushed once no more requests are waiting, so
+ * a batch of pipelined requests costs a few writes rather than one per
+ * answer.
+ * 
+ * @author Peter Mountanos
+ * @version December 6th, 2014
+ */
+public class DictionaryServer {
+
+	/*CONSTANTS*/
+	public static final String CONTAINS = "contains";
+	public static final String PREFIX = "prefix";
+	public static final String WORDS = "words";
+	public static final String SIZE = "size";
+	public static final String QUIT = "quit";
+	public static final String ERROR = "error";
+	/**Port the server listens on if none is given*/
+	public static final int DEFAULT_PORT = 7717;
+	/**Default largest number of words a words request may find*/
+	public static final int MAX_WORDS = 10000;
+	/**Default time limit of a words request, in milliseconds*/
+	public static final long WORDS_TIMEOUT = 2000;
+
+	/*FIELDS*/
+
+	/**Dictionary the requests are answered from*/
+	private Dictionary dict;
+	/**Socket the connections are accepted on*/
+	private ServerSocket serverSocket;
+	/**Threads serving the connections, one per connection*/
+	private ExecutorService connections = Executors.newCachedThreadPool();
+	/**Largest number of words a words request may find*/
+	private int maxWords;
+	/**Time limit of a words request, in milliseconds*/
+	private long wordsTimeout;
+
+	/**
+	 * Constructor which opens the server socket on the loopback
+	 * address. No connections are accepted until serve is called.
+	 * 
+	 * @param dict dictionary the requests are answered from
+	 * @param port port to listen on, or 0 for any free port
+	 * @throws IOException if the socket can't be opened
+	 */
+	public DictionaryServer(Dictionary dict, int port) throws IOException {
+		this(dict, port, MAX_WORDS, WORDS_TIMEOUT);
+	}
+
+	/**
+	 * Constructor which opens the server socket on the loopback
+	 * address, with the given bounds on the search of a words request.
+	 * 
+	 * @param dict dictionary the requests are answered from
+	 * @param port port to listen on, or 0 for any free port
+	 * @param maxWords largest number of words a words request may find
+	 * @param wordsTimeout time limit of a words request, in milliseconds
+	 * @throws IOException if the socket can't be opened
+	 */
+	public DictionaryServer(Dictionary dict, int port, int maxWords, long wordsTimeout) throws IOException {
+		this.dict = dict;
+		this.maxWords = maxWords;
+		this.wordsTimeout = wordsTimeout;
+		this.serverSocket = new ServerSocket(port, 50, InetAddress.getByName(null));
+	}
+
+	/*GETTERS*/
+
+	public Dictionary getDict(){
+		return this.dict;
+	}
+
+	/**
+	 * @return the port the server listens on
+	 */
+	public int getPort(){
+		return this.serverSocket.getLocalPort();
+	}
+
+	/*INSTANCE METHODS*/
+
+	/**
+	 * Method which accepts connections, and hands each one to a thread
+	 * of its own, until the server is closed.
+	 * 
+	 * @throws IOException if accepting a connection fails
+	 */
+	public void serve() throws IOException {
+		while (true){
+			final Socket socket;
+			try {
+				socket = this.serverSocket.accept();
+			} catch (SocketException e) {
+				if (this.serverSocket.isClosed()) return; // closed by close()
+				throw e;
+			}
+			this.connections.execute(new Runnable(){
+				@Override
+				public void run(){
+					serveConnection(socket);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Method which stops accepting connections. Connections that are
+	 * open are served until their clients close them.
+	 * 
+	 * @throws IOException if the server socket can't be closed
+	 */
+	public void close() throws IOException {
+		this.serverSocket.close();
+		this.connections.shutdown();
+	}
+
+	/**
+	 * Method which answers the requests of one connection, until the
+	 * client sends quit or closes the connection.
+	 * 
+	 * @param socket the connection
+	 */
+	private void serveConnection(Socket socket){
+		try {
+			socket.setTcpNoDelay(true);
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+			BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), "UTF-8"));
+			String request;
+			while ((request = in.readLine()) != null && !request.trim().equalsIgnoreCase(QUIT)){
+				out.write(this.answer(request));
+				out.newLine();
+				// requests that are already waiting are answered before flushing
+				if (!in.ready()) out.flush();
+			}
+			out.flush();
+		} catch (IOException e) {
+			// the client went away; nothing left to answer
+		}
+		finally {
+			try {
+				socket.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	/**
+	 * Method which answers a single request of the protocol (see
+	 * the class description).
+	 * 
+	 * @param request the request line
+	 * @return the answer line
+	 */
+	public String answer(String request){
+		String[] parts = request.trim().split("\\s+", 2);
+		String command = parts[0].toLowerCase();
+		String argument = parts.length > 1 ? parts[1].toLowerCase() : null;
+
+		if (command.equals(SIZE)) return Integer.toString(this.getDict().size());
+		if (!command.equals(CONTAINS) && !command.equals(PREFIX) && !command.equals(WORDS)){
+			return ERROR + " unknown request \"" + request + "\"";
+		}
+		if (argument == null || argument.indexOf(' ') >= 0){
+			return ERROR + " " + command + " takes one argument";
+		}
+
+		if (command.equals(CONTAINS)) return Boolean.toString(this.getDict().contains(argument));
+		if (command.equals(PREFIX)) return Boolean.toString(this.getDict().containsPrefix(argument));
+
+		if (!FindWords.isLetters(argument)) return ERROR + " \"" + argument + "\" is not only letters";
+		// the pruned search has no limit on the number of letters, so the
+		// collector bounds it instead (one word too many shows it was cut off)
+		WordCollector collector = new WordCollector(this.maxWords + 1, this.wordsTimeout);
+		SetOfLetters.search(argument, this.getDict(), true, collector);
+		if (collector.isStopped()){
+			return ERROR + " \"" + argument + "\" makes more than " + this.maxWords
+					+ " words, or takes longer than " + this.wordsTimeout + " ms";
+		}
+		StringBuilder answer = new StringBuilder();
+		for (String word : collector.getWords()){
+			if (answer.length() > 0) answer.append(' ');
+			answer.append(word);
+		}
+		return answer.toString();
+	}
+}
@@ -9,12 +9,60 @@ import java.util.*;
  * all of the possible words that can be created from those letters, which 
  * also are present in the dictionary.
  * 
+ * An optional second command line argument selects how the words are found:
+ *  - permute (the default): every permutation of the letters is looked up
+ *    in the dictionary (at most 10 letters, see SetOfLetters)
+ *  - prune: the permutations are pruned by prefix (see SetOfLetters)
+ *  - scan: the whole dictionary is scanned with a LetterFilter
+ *  - bloom: as prune, but the dictionary is wrapped in a BloomDictionary,
+ *    which rejects most dead prefixes, and most permutations that aren't
+ *    words, without searching the tree
+ * Only permute is limited to 10 letters; the time taken by the others is
+ * bounded by the size of the dictionary rather than by n!.
+ * 
+ * Given "server" as a third command line argument, the program instead
+ * keeps the dictionary loaded and answers lookups over a local socket
+ * (see DictionaryServer), on the port given by the fourth argument, if
+ * there is one.
+ * 
  * Note: The AVL tree extra credit *has* been implemented
  * 
  * @author Peter Mountanos (pjm419)
  * @version  December 6th, 2014 
  */
 public class FindWords {
+
+	/*CONSTANTS*/
+	/**Names of the solvers that can be selected on the command line*/
+	public static final String PERMUTE = "permute";
+	public static final String PRUNE = "prune";
+	public static final String SCAN = "scan";
+	public static final String BLOOM = "bloom";
+	/**False-positive rate of the filters of the bloom solver*/
+	public static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+	/**Maximum number of letters the permute solver accepts*/
+	public static final int MAX_PERMUTE_LETTERS = 10;
+	/**Command line argument selecting server mode*/
+	public static final String SERVER = "server";
+	/**Largest port number a server may listen on*/
+	public static final int MAX_PORT = 65535;
+	/**Usage message*/
+	private static final String USAGE =
+			"Usage:\t FindWords <dictionaryFileName> [permute|prune|scan|bloom] [server [port]]\n\n";
+	/**WordSink which prints each word it receives, one per line*/
+	private static final WordSink PRINT_WORDS = new WordSink(){
+		@Override
+		public boolean accept(String word){
+			System.out.println(word);
+			return true;
+		}
+
+		@Override
+		public boolean shouldStop(){
+			return false;
+		}
+	};
+
 	/**
 	 * Main Method for FindWords. It is responsible for the
 	 * execution of the entire program.
@@ -22,14 +70,33 @@ public class FindWords {
 	 * @param args an array containing command line arguments
 	 * 		  the program expects one command line argument, 
 	 *        which contains the name of the file of the dict-
-	 *        ionary to be used.
+	 *        ionary to be used, optionally followed by the name
+	 *        of the solver to use, and by "server" and the port
+	 *        for server mode.
 	 */
 	public static void main(String[] args) {
 		
 		// validate command-line argument
 		if (args.length < 1){
-			System.err.printf("Error:\t invalid number of  arguments\n"
-					+ "Usage:\t FindWords <dictionaryFileName>\n\n");
+			System.err.printf("Error:\t invalid number of  arguments\n" + USAGE);
+			System.exit(1);
+		}
+		
+		// validate solver argument
+		String solver = args.length > 1 ? args[1].toLowerCase() : PERMUTE;
+		if (!solver.equals(PERMUTE) && !solver.equals(PRUNE) && !solver.equals(SCAN) && !solver.equals(BLOOM)){
+			System.err.printf("Error:\t unknown solver \"%s\"\n" + USAGE, args[1]);
+			System.exit(1);
+		}
+		
+		// validate mode arguments
+		boolean serve = args.length > 2;
+		if (serve && !args[2].toLowerCase().equals(SERVER)){
+			System.err.printf("Error:\t unknown mode \"%s\"\n" + USAGE, args[2]);
+			System.exit(1);
+		}
+		else if (args.length > 3 && (!args[3].matches("\\d{1,5}") || Integer.parseInt(args[3]) > MAX_PORT)){
+			System.err.printf("Error:\t \"%s\" is not a port number\n\n", args[3]);
 			System.exit(1);
 		}
 		
@@ -46,14 +113,36 @@ public class FindWords {
 		}
 			
 		// instantiate DictionaryList object to store vocabulary based on dictFile input
-		Dictionary wordDict = new DictionaryAVL(dictFile);
+		DictionaryAVL wordDict = new DictionaryAVL(dictFile);
+		// the bloom solver looks the permutations up through a Bloom filter
+		Dictionary lookupDict = wordDict;
+		if (solver.equals(BLOOM)) lookupDict = new BloomDictionary(wordDict, BLOOM_FALSE_POSITIVE_RATE);
 		
 		// only run program if there's a dictionary with stuff in it
 		if (wordDict.size() > 0){
-			// instantiate SetOfLetters object to store user input string
-			SetOfLetters letterSet = new SetOfLetters(getUserInput(), wordDict);
-			// print sorted list of permutations to console
-			letterSet.printPermutations();
+			if (serve){
+				// answer lookups until the process is stopped
+				int port = args.length > 3 ? Integer.parseInt(args[3]) : DictionaryServer.DEFAULT_PORT;
+				try {
+					DictionaryServer server = new DictionaryServer(lookupDict, port);
+					System.out.printf("Serving <%s> on localhost port %d\n", dictFile, server.getPort());
+					server.serve();
+				} catch (IOException e) {
+					System.err.printf("Error:\t server failed: %s\n\n", e.getMessage());
+					System.exit(1);
+				}
+			}
+			else if (solver.equals(SCAN)){
+				// scan the dictionary for words made from the user's letters
+				LetterFilter filter = new LetterFilter(wordDict);
+				printWords(filter.findWords(getUserInput(Integer.MAX_VALUE)));
+			}
+			else {
+				// print the sorted words to console as the search finds them
+				boolean prune = solver.equals(PRUNE) || solver.equals(BLOOM);
+				int maxLetters = prune ? Integer.MAX_VALUE : MAX_PERMUTE_LETTERS;
+				SetOfLetters.search(getUserInput(maxLetters), lookupDict, prune, PRINT_WORDS);
+			}
 		}
 		else {
 			System.err.println("<"+dictFile+"> is an empty dictionary. Try again with a useful dictionary.");
@@ -73,14 +162,29 @@ public class FindWords {
 	 * @return string representing lower case letters to be permuted
 	 */
 	public static String getUserInput(){
+		return getUserInput(MAX_PERMUTE_LETTERS);
+	}
+	
+	/**
+	 * Function that obtains string of letters from user input, where
+	 * the string must contain only letters, and its length must be in
+	 * the range [2,maxLetters].
+	 * 
+	 * @param maxLetters the largest number of letters accepted
+	 * @return string representing lower case letters to be permuted
+	 */
+	public static String getUserInput(int maxLetters){
 		// get user input
 		Scanner scan = new Scanner(System.in);
-		System.out.println("Please enter a string of 2-10 characters  (letters only, no spaces, commas, or any other characters).");
+		if (maxLetters == Integer.MAX_VALUE)
+			System.out.println("Please enter a string of at least 2 characters  (letters only, no spaces, commas, or any other characters).");
+		else
+			System.out.println("Please enter a string of 2-" + maxLetters + " characters  (letters only, no spaces, commas, or any other characters).");
 		String letters = scan.nextLine();
 		scan.close();
 		
 		// validate user input
-		if (letters.length() < 2 || letters.length() > 10){
+		if (letters.length() < 2 || letters.length() > maxLetters){
 			System.err.printf("Error: \"%s\" has incorrect number of letters\n\n", letters);
 			System.exit(1);
 		}
@@ -93,6 +197,18 @@ public class FindWords {
 		return letters.toLowerCase();
 	}
 	
+	/**
+	 * Helper method to print out a sorted list of words,
+	 * one per line.
+	 * 
+	 * @param words list of words to be printed
+	 */
+	public static void printWords(List<String> words){
+		for (String word : words){
+			System.out.println(word);
+		}
+	}
+	
 	/**
 	 * Helper method to determine if a string contains only
 	 * letters. 
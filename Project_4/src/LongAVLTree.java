@@ -0,0 +1,501 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * AVL Tree Implementation for long keys
+ *
+ * This class is an AVL tree like AVLTree<Long>, with the same behaviour
+ * as the BST interface (duplicates go into the left subtree, a node with
+ * two children is replaced by its predecessor when removed, and iteration
+ * is in order), but made for long keys: there are no node objects, and no
+ * keys are boxed or compared through compareTo.
+ *
+ * Instead, a node is an index (a slot) into parallel arrays, which hold
+ * the key, the left and right subtrees, and the height of each node. Slot
+ * 0 stands for the empty tree, with height 0, so an empty subtree needs
+ * no special case. The slots of removed nodes are kept on a free list
+ * (linked through <left>) and reused by later inserts, and the arrays
+ * grow by half when every slot is in use.
+ *
+ * A node takes 17 bytes of the arrays, rather than the AVLNode object
+ * and boxed key of an AVLTree<Long>, and the nodes of a tree sit in a
+ * few arrays instead of being spread around the heap.
+ *
+ * @author    Peter Mountanos
+ * @version   December 6th, 2014
+ * @see       AVLTree
+ * @see       LongAVLTree
+ */
+public class LongAVLTree implements Iterable<Long> {
+
+	/*CONSTANTS*/
+	/**Slot standing for the empty tree*/
+	private static final int NIL = 0;
+	/**Number of slots the arrays start with, if not given*/
+	private static final int DEFAULT_CAPACITY = 16;
+	/**Height no AVL tree of at most 2^31 nodes can reach (about 1.44 log2 n)*/
+	private static final int MAX_HEIGHT = 64;
+
+	/*FIELDS*/
+
+	/**Key stored in each slot*/
+	private long[] key;
+	/**Left subtree of each slot (next free slot, for a free slot)*/
+	private int[] left;
+	/**Right subtree of each slot*/
+	private int[] right;
+	/**Height of the subtree rooted at each slot (0 for NIL)*/
+	private byte[] height;
+	/**Slot of the root of the tree*/
+	private int root = NIL;
+	/**First slot of the free list (NIL if it is empty)*/
+	private int free = NIL;
+	/**Number of slots used so far (slot 0 included)*/
+	private int used = 1;
+	/**Number of keys in the tree*/
+	private int size;
+	/**Number of times the tree has been changed, so that iterators can
+	 * tell if the tree was changed under them*/
+	private int modCount;
+
+	/**
+	 * Constructor to create an empty tree.
+	 */
+	public LongAVLTree() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor to create an empty tree, with room for a number of keys
+	 * before the arrays need to grow.
+	 *
+	 * @param capacity number of keys to make room for
+	 */
+	public LongAVLTree(int capacity) {
+		int slots = Math.max(capacity, 1) + 1;
+		this.key = new long[slots];
+		this.left = new int[slots];
+		this.right = new int[slots];
+		this.height = new byte[slots];
+	}
+
+	/**
+	 * Adds a key to the tree (see BST#insert).
+	 *
+	 * @param item the key to be added
+	 */
+	public void insert(long item) {
+		this.root = this.insert(item, this.root);
+		this.size++;
+		this.modCount++;
+	}
+
+	/**
+	 * Recursively add a key to a subtree, and rebalance it.
+	 *
+	 * @param  item key to be added
+	 * @param  tree slot of the root of the subtree
+	 * @return slot of the root of the subtree after the key was added
+	 */
+	private int insert(long item, int tree) {
+		if (tree == NIL) return this.newNode(item);
+		// the child is found before storing it: adding a node can replace the arrays
+		int child;
+		if (item <= this.key[tree]) {
+			child = this.insert(item, this.left[tree]);
+			this.left[tree] = child;
+		}
+		else {
+			child = this.insert(item, this.right[tree]);
+			this.right[tree] = child;
+		}
+		return this.rebalance(tree);
+	}
+
+	/**
+	 * Removes one copy of a key from the tree, if it is there (see BST#remove).
+	 *
+	 * @param item the key to be removed
+	 */
+	public void remove(long item) {
+		int before = this.size;
+		this.root = this.remove(item, this.root);
+		if (this.size != before) this.modCount++;
+	}
+
+	/**
+	 * Recursively remove a key from a subtree, and rebalance it.
+	 *
+	 * @param  item key to be removed
+	 * @param  tree slot of the root of the subtree
+	 * @return slot of the root of the subtree after the key was removed
+	 */
+	private int remove(long item, int tree) {
+		if (tree == NIL) return NIL; // do nothing, item not in tree
+		int child;
+		if (item < this.key[tree]) {
+			child = this.remove(item, this.left[tree]);
+			this.left[tree] = child;
+		}
+		else if (item > this.key[tree]) {
+			child = this.remove(item, this.right[tree]);
+			this.right[tree] = child;
+		}
+		// found the node to remove; if there's at most one child, it takes its place
+		else if (this.left[tree] == NIL || this.right[tree] == NIL) {
+			child = this.left[tree] != NIL ? this.left[tree] : this.right[tree];
+			this.freeNode(tree);
+			this.size--;
+			return child;
+		}
+		// if there's two children, the predecessor takes its place
+		else {
+			int predecessor = this.left[tree];
+			while (this.right[predecessor] != NIL) predecessor = this.right[predecessor];
+			this.key[tree] = this.key[predecessor];
+			child = this.remove(this.key[tree], this.left[tree]);
+			this.left[tree] = child;
+		}
+		return this.rebalance(tree);
+	}
+
+	/**
+	 * Returns whether a key is in the tree (see BST#contains).
+	 *
+	 * @param  item the key to look for
+	 * @return true if the key is in the tree, false otherwise
+	 */
+	public boolean contains(long item) {
+		int tree = this.root;
+		while (tree != NIL) {
+			if (item < this.key[tree]) tree = this.left[tree];
+			else if (item > this.key[tree]) tree = this.right[tree];
+			else return true; // found it
+		}
+		return false; // not found
+	}
+
+	/**
+	 * Method to return the number of keys in the tree.
+	 *
+	 * @return the number of nodes in the tree
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Method to determine if the tree is empty.
+	 *
+	 * @return true if the tree is empty, else false
+	 */
+	public boolean isEmpty() {
+		return this.root == NIL;
+	}
+
+	/**
+	 * Method which takes a slot for a new leaf, from the free list if
+	 * there is one free, else from the end of the arrays (growing them
+	 * if they are full).
+	 *
+	 * @param  item key of the new leaf
+	 * @return slot of the new leaf
+	 */
+	private int newNode(long item) {
+		int node;
+		if (this.free != NIL) {
+			node = this.free;
+			this.free = this.left[node];
+		}
+		else {
+			if (this.used == this.key.length) this.grow();
+			node = this.used++;
+		}
+		this.key[node] = item;
+		this.left[node] = NIL;
+		this.right[node] = NIL;
+		this.height[node] = 1;
+		return node;
+	}
+
+	/**
+	 * Method which puts the slot of a removed node on the free list.
+	 *
+	 * @param node slot of the removed node
+	 */
+	private void freeNode(int node) {
+		this.left[node] = this.free;
+		this.right[node] = NIL;
+		this.height[node] = 0;
+		this.free = node;
+	}
+
+	/**
+	 * Method which grows the arrays by half.
+	 */
+	private void grow() {
+		int slots = this.key.length + (this.key.length >> 1) + 1;
+		this.key = Arrays.copyOf(this.key, slots);
+		this.left = Arrays.copyOf(this.left, slots);
+		this.right = Arrays.copyOf(this.right, slots);
+		this.height = Arrays.copyOf(this.height, slots);
+	}
+
+	/**
+	 * Method used to restore the balance of a subtree after one of its
+	 * subtrees was changed by an insertion or removal (see AVLTree's
+	 * rebalance).
+	 *
+	 * @param  tree slot of the subtree whose subtrees may be off balance
+	 * @return slot of the root of the balanced subtree
+	 */
+	private int rebalance(int tree) {
+		int balance = this.balanceFactor(tree);
+		// left subtree has two more levels than right subtree
+		if (balance == -2) {
+			if (this.balanceFactor(this.left[tree]) > 0)
+				this.left[tree] = this.rotateLeft(this.left[tree]);
+			return this.rotateRight(tree);
+		}
+		// right subtree has two more levels than its left subtree
+		else if (balance == 2) {
+			if (this.balanceFactor(this.right[tree]) < 0)
+				this.right[tree] = this.rotateRight(this.right[tree]);
+			return this.rotateLeft(tree);
+		}
+		this.updateHeight(tree);
+		return tree;
+	}
+
+	/**
+	 * Method to rotate a subtree to the right: its left subtree becomes
+	 * its root (see AVLTree's balanceLL).
+	 *
+	 * @param  a slot of the root of the subtree
+	 * @return slot of the new root of the subtree
+	 */
+	private int rotateRight(int a) {
+		int b = this.left[a];
+		this.left[a] = this.right[b];
+		this.right[b] = a;
+		this.updateHeight(a);
+		this.updateHeight(b);
+		return b;
+	}
+
+	/**
+	 * Method to rotate a subtree to the left: its right subtree becomes
+	 * its root (see AVLTree's balanceRR).
+	 *
+	 * @param  a slot of the root of the subtree
+	 * @return slot of the new root of the subtree
+	 */
+	private int rotateLeft(int a) {
+		int b = this.right[a];
+		this.right[a] = this.left[b];
+		this.left[b] = a;
+		this.updateHeight(a);
+		this.updateHeight(b);
+		return b;
+	}
+
+	/**
+	 * Method used to calculate the balance factor of a node: the height
+	 * of its right subtree minus the height of its left subtree.
+	 *
+	 * @param  node slot of the node
+	 * @return the balance factor of the node
+	 */
+	private int balanceFactor(int node) {
+		return this.height[this.right[node]] - this.height[this.left[node]];
+	}
+
+	/**
+	 * Method used to update the height of a node from the heights of its
+	 * subtrees.
+	 *
+	 * @param node slot of the node (not NIL)
+	 */
+	private void updateHeight(int node) {
+		this.height[node] = (byte) (Math.max(this.height[this.left[node]], this.height[this.right[node]]) + 1);
+	}
+
+	/**
+	 * Method which checks that this tree is a valid AVL tree (see AVLTree's
+	 * verifyInvariants), and that every slot is either in the tree or on
+	 * the free list.
+	 *
+	 * @throws IllegalStateException describing the first problem found
+	 */
+	public void verifyInvariants() {
+		int count = this.verify(this.root, Long.MIN_VALUE, Long.MAX_VALUE);
+		if (count != this.size)
+			throw new IllegalStateException("size is " + this.size + " but the tree has " + count + " nodes");
+		int freeCount = 0;
+		for (int node = this.free; node != NIL; node = this.left[node]) freeCount++;
+		if (count + freeCount != this.used - 1)
+			throw new IllegalStateException((this.used - 1 - count - freeCount) + " slots are lost");
+	}
+
+	/**
+	 * Recursively check the AVL invariants of a subtree.
+	 *
+	 * @param  tree slot of the root of the subtree
+	 * @param  lo no key of the subtree may be less than lo
+	 * @param  hi no key of the subtree may be greater than hi
+	 * @return the number of nodes in the subtree
+	 */
+	private int verify(int tree, long lo, long hi) {
+		if (tree == NIL) return 0;
+		long data = this.key[tree];
+		if (data < lo || data > hi)
+			throw new IllegalStateException("<" + data + "> is out of order");
+		int count = this.verify(this.left[tree], lo, data) + this.verify(this.right[tree], data, hi) + 1;
+		if (this.height[tree] != Math.max(this.height[this.left[tree]], this.height[this.right[tree]]) + 1)
+			throw new IllegalStateException("<" + data + "> has the wrong height " + this.height[tree]);
+		if (Math.abs(this.balanceFactor(tree)) > 1)
+			throw new IllegalStateException("<" + data + "> is off balance by " + this.balanceFactor(tree));
+		return count;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		this.preOrderPrint(this.root, 0, s);
+		return s.toString();
+	}
+
+	/**
+	 * Recursive Method to accumulate a string representation of this tree,
+	 * in the same layout as BSTRecursive's.
+	 *
+	 * @param tree   slot of the root of the current subtree
+	 * @param level  the depth of the subtree in the tree, to indent its root
+	 * @param output the string that accumulates the string representation
+	 */
+	private void preOrderPrint(int tree, int level, StringBuilder output) {
+		if (tree != NIL) {
+			output.append('\n');
+			if (level > 0) {
+				for (int i = 0; i < level - 1; i++)
+					output.append("   ");
+				output.append("|--");
+			}
+			output.append(this.key[tree]);
+			this.preOrderPrint(this.left[tree], level + 1, output);
+			this.preOrderPrint(this.right[tree], level + 1, output);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see BST#iterator()
+	 */
+	@Override
+	public LongIterator iterator() {
+		return new LongIterator();
+	}
+
+	/**
+	 * In-order iterator over the keys of the tree, which works like
+	 * BSTIterator (lazy, fail-fast, and able to remove), with a stack of
+	 * slots. nextLong returns the keys without boxing them.
+	 */
+	public class LongIterator implements Iterator<Long> {
+
+		/**Slots of the nodes still to be visited, with their right subtrees*/
+		private int[] stack = new int[MAX_HEIGHT];
+		/**Number of slots on the stack*/
+		private int top;
+		/**Value of the tree's modCount the iterator expects*/
+		private int expectedModCount = modCount;
+		/**Key last returned*/
+		private long last;
+		/**Number of keys equal to <last> returned in a row, up to and including it*/
+		private int lastCount;
+		/**True if remove may be called*/
+		private boolean canRemove;
+
+		private LongIterator() {
+			this.pushLeft(root);
+		}
+
+		/**
+		 * Method which pushes the nodes on the way down the left
+		 * subtrees from a node.
+		 *
+		 * @param tree slot of the subtree to start from (may be NIL)
+		 */
+		private void pushLeft(int tree) {
+			while (tree != NIL) {
+				this.stack[this.top++] = tree;
+				tree = left[tree];
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.top > 0;
+		}
+
+		/**
+		 * Returns the next key in order, without boxing it.
+		 *
+		 * @return the next key
+		 */
+		public long nextLong() {
+			if (modCount != this.expectedModCount) throw new ConcurrentModificationException();
+			if (this.top == 0) throw new NoSuchElementException();
+
+			// visit the top node, then everything in its right subtree
+			int node = this.stack[--this.top];
+			this.pushLeft(right[node]);
+
+			long item = key[node];
+			if (this.lastCount > 0 && this.last == item) this.lastCount++;
+			else this.lastCount = 1;
+			this.last = item;
+			this.canRemove = true;
+			return item;
+		}
+
+		@Override
+		public Long next() {
+			return this.nextLong();
+		}
+
+		@Override
+		public void remove() {
+			if (!this.canRemove) throw new IllegalStateException();
+			if (modCount != this.expectedModCount) throw new ConcurrentModificationException();
+
+			// rotations move the nodes, so the stack is rebuilt from the root
+			LongAVLTree.this.remove(this.last);
+			this.expectedModCount = modCount;
+			this.canRemove = false;
+			this.lastCount--;
+
+			// walk down to the first key not less than the one removed,
+			// and skip the equal keys already returned
+			this.top = 0;
+			int tree = root;
+			while (tree != NIL) {
+				if (key[tree] >= this.last) {
+					this.stack[this.top++] = tree;
+					tree = left[tree];
+				}
+				else tree = right[tree];
+			}
+			for (int i = 0; i < this.lastCount; i++) {
+				int node = this.stack[--this.top];
+				this.pushLeft(right[node]);
+			}
+		}
+	}
+}
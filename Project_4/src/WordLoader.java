@@ -0,0 +1,270 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.*;
+/**
+ * Class which reads the words of a text dictionary file using several
+ * threads, for word lists too large to read comfortably with a Scanner.
+ *
+ * The file is read with one FileChannel read, and its text is split
+ * into one chunk per thread, each ending on whitespace. The chunks are
+ * then broken into words and lower-cased in parallel; words are split
+ * on whitespace, the same as Scanner.next does. Each chunk also checks
+ * whether its words are in sorted order, so checking the whole list
+ * only takes one more comparison per chunk.
+ *
+ * The words are always returned sorted: if the file wasn't sorted, the
+ * chunks are sorted in parallel, and then merged in parallel, two at a
+ * time. So the dictionaries built from the words can rely on the order,
+ * whatever order the file is in (see DictionaryAVL, which builds its
+ * tree directly from the sorted words).
+ *
+ * @author Peter Mountanos
+ * @version December 6th, 2014
+ */
+public class WordLoader {
+
+	/*CONSTANTS*/
+
+	/**Smallest chunk of text worth a thread of its own, in chars*/
+	private static final int MIN_CHUNK = 1 << 16;
+
+	/*CLASS METHODS*/
+
+	/**
+	 * Method which reads the words of a file, using one thread
+	 * per processor.
+	 *
+	 * @param file text file of words, separated by whitespace
+	 * @return the words, lower-cased and sorted (duplicates are kept)
+	 * @throws IOException if the file cannot be read
+	 */
+	public static String[] load(File file) throws IOException {
+		return load(file, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Method which reads the words of a file, using up to <threads>
+	 * threads (small files are read by the calling thread alone).
+	 *
+	 * @param file text file of words, separated by whitespace
+	 * @param threads largest number of threads to use
+	 * @return the words, lower-cased and sorted (duplicates are kept)
+	 * @throws IOException if the file cannot be read
+	 */
+	public static String[] load(File file, int threads) throws IOException {
+		String text = readText(file);
+		int chunks = Math.max(1, Math.min(threads, text.length() / MIN_CHUNK));
+
+		// split the text into chunks which end on whitespace
+		List<Tokenizer> tokenizers = new ArrayList<Tokenizer>(chunks);
+		int start = 0;
+		for (int c = 1; c <= chunks; c++){
+			int end = (int) ((long) text.length() * c / chunks);
+			while (end < text.length() && !Character.isWhitespace(text.charAt(end))) end++;
+			if (end > start) tokenizers.add(new Tokenizer(text, start, end));
+			start = Math.max(start, end);
+		}
+
+		if (tokenizers.size() <= 1){
+			if (tokenizers.isEmpty()) return new String[0];
+			Tokenizer only = tokenizers.get(0);
+			String[] words = only.call();
+			if (!only.isSorted()) Arrays.sort(words);
+			return words;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(tokenizers.size());
+		try {
+			// break the chunks into words
+			List<String[]> parts = new ArrayList<String[]>(tokenizers.size());
+			for (Future<String[]> part : pool.invokeAll(tokenizers)){
+				parts.add(await(part));
+			}
+
+			// the words are sorted if every chunk is, and every chunk starts
+			// no earlier than the chunk before it ends
+			boolean sorted = true;
+			String last = null;
+			for (int c = 0; c < parts.size() && sorted; c++){
+				String[] part = parts.get(c);
+				if (part.length == 0) continue;
+				sorted = tokenizers.get(c).isSorted() && (last == null || last.compareTo(part[0]) <= 0);
+				last = part[part.length - 1];
+			}
+			if (sorted) return concatenate(parts);
+
+			return sortParts(parts, pool);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while loading <" + file + ">");
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Method which reads a whole text file with one FileChannel read,
+	 * and decodes it with the default charset (as Scanner does).
+	 *
+	 * @param file the file
+	 * @return the text of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private static String readText(File file) throws IOException {
+		FileInputStream in = new FileInputStream(file);
+		try {
+			FileChannel channel = in.getChannel();
+			ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0);
+			return new String(buffer.array(), 0, buffer.position(), Charset.defaultCharset());
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Method which sorts the words of several chunks: each chunk is
+	 * sorted by a task of its own, and then the sorted chunks are
+	 * merged in rounds, each merging pairs of chunks in parallel,
+	 * until only one is left.
+	 *
+	 * @param parts the words of each chunk (sorted in place)
+	 * @param pool threads to sort and merge with
+	 * @return all of the words, sorted
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private static String[] sortParts(List<String[]> parts, ExecutorService pool)
+			throws InterruptedException {
+		List<Callable<String[]>> sorts = new ArrayList<Callable<String[]>>(parts.size());
+		for (final String[] part : parts){
+			sorts.add(new Callable<String[]>(){
+				@Override
+				public String[] call(){
+					Arrays.sort(part);
+					return part;
+				}
+			});
+		}
+		for (Future<String[]> sort : pool.invokeAll(sorts)) await(sort);
+
+		while (parts.size() > 1){
+			List<Callable<String[]>> merges = new ArrayList<Callable<String[]>>(parts.size() / 2);
+			for (int c = 0; c + 1 < parts.size(); c += 2){
+				final String[] a = parts.get(c);
+				final String[] b = parts.get(c + 1);
+				merges.add(new Callable<String[]>(){
+					@Override
+					public String[] call(){
+						return merge(a, b);
+					}
+				});
+			}
+			List<String[]> merged = new ArrayList<String[]>(merges.size() + 1);
+			for (Future<String[]> merge : pool.invokeAll(merges)){
+				merged.add(await(merge));
+			}
+			// an odd chunk out waits for the next round
+			if (parts.size() % 2 == 1) merged.add(parts.get(parts.size() - 1));
+			parts = merged;
+		}
+		return parts.get(0);
+	}
+
+	/**
+	 * Method which merges two sorted arrays of words into one.
+	 *
+	 * @param a sorted words
+	 * @param b sorted words
+	 * @return the words of <a> and <b>, sorted
+	 */
+	private static String[] merge(String[] a, String[] b){
+		String[] merged = new String[a.length + b.length];
+		int i = 0, j = 0, k = 0;
+		while (i < a.length && j < b.length){
+			merged[k++] = a[i].compareTo(b[j]) <= 0 ? a[i++] : b[j++];
+		}
+		while (i < a.length) merged[k++] = a[i++];
+		while (j < b.length) merged[k++] = b[j++];
+		return merged;
+	}
+
+	/**
+	 * Method which joins the words of several chunks into one array.
+	 *
+	 * @param parts the words of each chunk, in order
+	 * @return all of the words, in the same order
+	 */
+	private static String[] concatenate(List<String[]> parts){
+		int length = 0;
+		for (String[] part : parts) length += part.length;
+		String[] words = new String[length];
+		int k = 0;
+		for (String[] part : parts){
+			System.arraycopy(part, 0, words, k, part.length);
+			k += part.length;
+		}
+		return words;
+	}
+
+	/**
+	 * Helper method which waits for the result of a task.
+	 *
+	 * @param future the task
+	 * @return the result of the task
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private static String[] await(Future<String[]> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			// the tasks don't throw checked exceptions
+			throw new IllegalStateException("loading words failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Task which breaks one chunk of the text into lower-case words,
+	 * and notes whether they are in sorted order.
+	 */
+	private static class Tokenizer implements Callable<String[]> {
+
+		/**Text the chunk is part of*/
+		private String text;
+		/**Start (inclusive) and end (exclusive) of the chunk in <text>*/
+		private int start, end;
+		/**True if the words of the chunk are sorted (once called)*/
+		private boolean sorted = true;
+
+		Tokenizer(String text, int start, int end){
+			this.text = text;
+			this.start = start;
+			this.end = end;
+		}
+
+		boolean isSorted(){
+			return this.sorted;
+		}
+
+		@Override
+		public String[] call(){
+			ArrayList<String> words = new ArrayList<String>();
+			int i = this.start;
+			while (i < this.end){
+				while (i < this.end && Character.isWhitespace(this.text.charAt(i))) i++;
+				if (i == this.end) break;
+				int wordStart = i;
+				while (i < this.end && !Character.isWhitespace(this.text.charAt(i))) i++;
+
+				String word = this.text.substring(wordStart, i).toLowerCase();
+				if (this.sorted && !words.isEmpty() && words.get(words.size() - 1).compareTo(word) > 0){
+					this.sorted = false;
+				}
+				words.add(word);
+			}
+			return words.toArray(new String[words.size()]);
+		}
+	}
+}
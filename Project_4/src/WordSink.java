@@ -0,0 +1,30 @@
+/**
+ * Interface for receiving the words found by a search one at a time,
+ * as soon as they are found (see SetOfLetters.search).
+ * 
+ * The sink decides how long the search goes on: by returning false
+ * from accept, it stops the search, so a caller that only needs part
+ * of the result doesn't pay for the rest of it. The search also asks
+ * the sink whether to stop (shouldStop) before each step, so a sink
+ * can stop a search that goes a long time without finding a word.
+ * 
+ * @author     Peter Mountanos
+ * @version    December 6th, 2014
+ */
+public interface WordSink {
+	
+	/**
+	 * Receives the next word found by a search.
+	 * 
+	 * @param  word the word found
+	 * @return true to go on searching, false to stop the search
+	 */
+	public boolean accept(String word);
+	
+	/**
+	 * Asked by a search before each step, whether or not it finds a word.
+	 * 
+	 * @return true to stop the search, false to go on searching
+	 */
+	public boolean shouldStop();
+}
@@ -0,0 +1,243 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AVLTreeTest {
+
+	@Test
+	public void churnTest() {
+		Random random = new Random(24);
+		for (int round = 0; round < 300; round++) {
+			AVLTree<Integer> tree = new AVLTree<Integer>();
+			List<Integer> sorted = new ArrayList<Integer>();
+			int range = 1 + random.nextInt(50);
+			for (int step = 0; step < 150; step++) {
+				// duplicates are allowed, so a remove takes out one copy
+				Integer item = random.nextInt(range);
+				if (random.nextInt(5) < 2) {
+					tree.remove(item);
+					sorted.remove(item);
+				}
+				else {
+					tree.insert(item);
+					sorted.add(item);
+					Collections.sort(sorted);
+				}
+				tree.verifyInvariants();
+				assertEquals(sorted.size(), tree.size());
+				assertEquals(sorted.isEmpty(), tree.isEmpty());
+				Integer probe = random.nextInt(range + 2) - 1;
+				assertEquals(sorted.contains(probe), tree.contains(probe));
+			}
+			assertEquals(sorted, toList(tree.iterator()));
+		}
+	}
+
+	@Test
+	public void buildFromSortedTest() {
+		Random random = new Random(20);
+		for (int round = 0; round < 300; round++) {
+			// runs of equal items end up on both sides of their middle one
+			List<Integer> sorted = new ArrayList<Integer>();
+			int count = random.nextInt(60);
+			for (int i = 0; i < count; i++) {
+				sorted.add(random.nextInt(10));
+			}
+			Collections.sort(sorted);
+			AVLTree<Integer> tree = new AVLTree<Integer>();
+			tree.buildFromSorted(sorted.toArray(new Integer[0]));
+			tree.verifyInvariants();
+			assertEquals(sorted, toList(tree.iterator()));
+
+			for (int step = 0; step < 40; step++) {
+				Integer item = random.nextInt(10);
+				assertEquals(sorted.contains(item), tree.contains(item));
+				if (sorted.contains(item)) assertEquals(sorted.indexOf(item), tree.rank(item));
+				if (random.nextBoolean()) {
+					tree.remove(item);
+					sorted.remove(item);
+				}
+				else {
+					tree.insert(item);
+					sorted.add(item);
+					Collections.sort(sorted);
+				}
+				tree.verifyInvariants();
+				assertEquals(sorted, toList(tree.iterator()));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void buildFromSortedCountTest() {
+		new BSTRecursive<Integer>().buildFromSorted(new ArrayList<Integer>().iterator(), -1);
+	}
+
+	@Test
+	public void sortedInsertTest() {
+		// sorted input is the worst case for a plain BST, but stays shallow here
+		AVLTree<Integer> tree = new AVLTree<Integer>();
+		for (int i = 0; i < 100000; i++) {
+			tree.insert(i);
+		}
+		tree.verifyInvariants();
+		for (int i = 0; i < 100000; i += 2) {
+			tree.remove(i);
+		}
+		tree.verifyInvariants();
+		assertEquals(50000, tree.size());
+		assertEquals(Integer.valueOf(1), tree.select(0));
+		assertEquals(Integer.valueOf(99999), tree.select(49999));
+	}
+
+	@Test
+	public void iteratorRemoveTest() {
+		Random random = new Random(21);
+		for (int round = 0; round < 900; round++) {
+			BSTRecursive<Integer> tree = round % 3 == 0 ? new BSTRecursive<Integer>()
+					: round % 3 == 1 ? new BSTIterative<Integer>() : new AVLTree<Integer>();
+			List<Integer> sorted = new ArrayList<Integer>();
+			int count = random.nextInt(60);
+			for (int i = 0; i < count; i++) {
+				Integer item = random.nextInt(20);
+				tree.insert(item);
+				sorted.add(item);
+			}
+			Collections.sort(sorted);
+
+			// remove about half of the items (duplicates included) while iterating
+			List<Integer> seen = new ArrayList<Integer>();
+			List<Integer> kept = new ArrayList<Integer>();
+			Iterator<Integer> it = tree.iterator();
+			while (it.hasNext()) {
+				Integer item = it.next();
+				seen.add(item);
+				if (random.nextBoolean()) it.remove();
+				else kept.add(item);
+			}
+			assertEquals(sorted, seen);
+			assertEquals(kept, toList(tree.iterator()));
+			assertEquals(kept.size(), tree.size());
+			if (tree instanceof AVLTree) ((AVLTree<Integer>) tree).verifyInvariants();
+			try {
+				it.next();
+				fail("next past the end");
+			} catch (NoSuchElementException e) {
+			}
+		}
+	}
+
+	@Test
+	public void failFastTest() {
+		AVLTree<Integer> tree = new AVLTree<Integer>();
+		for (int i = 0; i < 10; i++) {
+			tree.insert(i);
+		}
+		Iterator<Integer> it = tree.iterator();
+		it.next();
+		tree.insert(3);
+		try {
+			it.next();
+			fail("next after insert");
+		} catch (ConcurrentModificationException e) {
+		}
+
+		it = tree.iterator();
+		it.next();
+		tree.remove(7);
+		try {
+			it.remove();
+			fail("remove after remove from the tree");
+		} catch (ConcurrentModificationException e) {
+		}
+
+		it = tree.iterator();
+		try {
+			it.remove();
+			fail("remove before next");
+		} catch (IllegalStateException e) {
+		}
+		it.next();
+		it.remove();
+		try {
+			it.remove();
+			fail("remove twice");
+		} catch (IllegalStateException e) {
+		}
+		// the iterator's own remove doesn't make it fail
+		assertEquals(Integer.valueOf(1), it.next());
+	}
+
+	@Test
+	public void orderStatisticsTest() {
+		Random random = new Random(22);
+		for (int round = 0; round < 300; round++) {
+			AVLTree<Integer> tree = new AVLTree<Integer>();
+			List<Integer> sorted = new ArrayList<Integer>();
+			for (int step = 0; step < 40; step++) {
+				Integer item = random.nextInt(30) * 2;
+				if (random.nextInt(3) == 0) {
+					tree.remove(item);
+					sorted.remove(item);
+				}
+				else {
+					tree.insert(item);
+					sorted.add(item);
+					Collections.sort(sorted);
+				}
+				tree.verifyInvariants();
+
+				// odd probes fall between items, even ones may hit them
+				for (int probe = -1; probe <= 61; probe++) {
+					Integer floor = null, ceiling = null;
+					int rank = 0;
+					for (Integer x : sorted) {
+						if (x <= probe) floor = x;
+						if (x >= probe && ceiling == null) ceiling = x;
+						if (x < probe) rank++;
+					}
+					assertEquals(floor, tree.floor(probe));
+					assertEquals(ceiling, tree.ceiling(probe));
+					assertEquals(rank, tree.rank(probe));
+				}
+				for (int k = 0; k < sorted.size(); k++) {
+					assertEquals(sorted.get(k), tree.select(k));
+				}
+
+				int lo = random.nextInt(62) - 1, hi = lo + random.nextInt(20);
+				List<Integer> range = new ArrayList<Integer>();
+				for (Integer x : sorted) {
+					if (x >= lo && x <= hi) range.add(x);
+				}
+				assertEquals(range, toList(tree.rangeIterator(lo, hi)));
+			}
+			assertEquals(sorted, toList(tree.rangeIterator(null, null)));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void selectTest() {
+		AVLTree<Integer> tree = new AVLTree<Integer>();
+		tree.insert(1);
+		tree.select(1);
+	}
+
+	/**
+	 * Collects what is left of an iterator into a list.
+	 */
+	static <T> List<T> toList(Iterator<T> it) {
+		List<T> list = new ArrayList<T>();
+		while (it.hasNext()) {
+			list.add(it.next());
+		}
+		return list;
+	}
+}
@@ -0,0 +1,61 @@
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BSTIterativeTest {
+
+	@Test
+	public void sameAsRecursiveTest() {
+		Random random = new Random(23);
+		for (int round = 0; round < 300; round++) {
+			BSTRecursive<Integer> recursive = new BSTRecursive<Integer>();
+			BSTIterative<Integer> iterative = new BSTIterative<Integer>();
+			for (int step = 0; step < 200; step++) {
+				Integer item = random.nextInt(40);
+				if (random.nextInt(3) == 0) {
+					recursive.remove(item);
+					iterative.remove(item);
+				}
+				else {
+					recursive.insert(item);
+					iterative.insert(item);
+				}
+				// the same shape, not just the same items
+				assertEquals(recursive.toString(), iterative.toString());
+				assertEquals(recursive.size(), iterative.size());
+				Integer probe = random.nextInt(45);
+				assertEquals(recursive.contains(probe), iterative.contains(probe));
+				assertEquals(recursive.get(probe), iterative.get(probe));
+			}
+			assertEquals(AVLTreeTest.toList(recursive.iterator()), AVLTreeTest.toList(iterative.iterator()));
+		}
+	}
+
+	@Test
+	public void deepTreeTest() {
+		// sorted inserts make a tree as deep as it is big, deep enough
+		// that BSTRecursive overflows the call stack
+		BSTIterative<Integer> tree = new BSTIterative<Integer>();
+		int n = 30000;
+		for (int i = 0; i < n; i++) {
+			tree.insert(i);
+		}
+		assertEquals(n, tree.size());
+		assertEquals(true, tree.contains(n - 1));
+		assertEquals(Integer.valueOf(5), tree.get(5));
+		assertEquals(false, tree.contains(n));
+
+		tree.remove(0);
+		tree.remove(n - 1);
+		assertEquals(n - 2, tree.size());
+		assertEquals(Integer.valueOf(1), tree.iterator().next());
+		int count = 0;
+		for (Integer item : tree) {
+			assertEquals(Integer.valueOf(count + 1), item);
+			count++;
+		}
+		assertEquals(n - 2, count);
+	}
+}
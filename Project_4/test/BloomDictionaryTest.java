@@ -0,0 +1,56 @@
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BloomDictionaryTest {
+
+	private DictionaryAVL dict;
+
+	@Before
+	public void setUp() throws Exception {
+		dict = new DictionaryAVL(new File("TWL06.txt"));
+	}
+
+	@Test
+	public void containsTest() {
+		BloomDictionary bloom = new BloomDictionary(dict, 0.01);
+		for (String word : dict) {
+			assertEquals(true, bloom.contains(word));
+			assertEquals(false, bloom.contains(word + "q"));
+		}
+		assertEquals(dict.size(), bloom.size());
+	}
+
+	@Test
+	public void prefixAgreesTest() {
+		// every live prefix of TWL06, and dead ones next to it, give the same
+		// answer through the filter as from the tree itself
+		BloomDictionary bloom = new BloomDictionary(dict, 0.01);
+		for (String word : dict) {
+			for (int i = 1; i <= word.length(); i++) {
+				String prefix = word.substring(0, i);
+				char last = prefix.charAt(i - 1);
+				String[] tried = {prefix, prefix + "q", "q" + prefix, prefix + "zz",
+						prefix.substring(0, i - 1) + (char) (last == 'z' ? 'a' : last + 1)};
+				for (String p : tried) {
+					assertEquals(p, dict.containsPrefix(p), bloom.containsPrefix(p));
+				}
+			}
+		}
+		for (String p : new String[] {"", "a", "z", "zzzz", "aaaa", "qq"}) {
+			assertEquals(p, dict.containsPrefix(p), bloom.containsPrefix(p));
+		}
+	}
+
+	@Test
+	public void permutationsTest() {
+		BloomDictionary bloom = new BloomDictionary(dict, 0.01);
+		for (String letters : new String[] {"banana", "retains", "aeilnrst"}) {
+			assertEquals(new SetOfLetters(letters, dict, true).getPermutations(),
+					new SetOfLetters(letters, bloom, true).getPermutations());
+		}
+	}
+}
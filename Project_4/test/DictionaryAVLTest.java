@@ -0,0 +1,51 @@
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DictionaryAVLTest {
+
+	private DictionaryAVL dict;
+
+	@Before
+	public void setUp() throws Exception {
+		dict = new DictionaryAVL(new File("TWL06.txt"));
+	}
+
+	@Test
+	public void loadTest() {
+		dict.verifyInvariants();
+		assertEquals(true, dict.contains("computer"));
+		assertEquals(false, dict.contains("abc"));
+		assertEquals(true, dict.containsPrefix("abridge"));
+		assertEquals(false, dict.containsPrefix("xyz"));
+		assertEquals(0, new DictionaryAVL(new File("empty_dict.txt")).size());
+	}
+
+	@Test
+	public void completionsTest() {
+		List<String> words = AVLTreeTest.toList(dict.iterator());
+		assertEquals(dict.size(), words.size());
+		for (String prefix : new String[] {"", "a", "zz", "qu", "xyz", "retain", "zyzzyvas"}) {
+			List<String> expected = new ArrayList<String>();
+			for (String word : words) {
+				if (word.startsWith(prefix)) expected.add(word);
+			}
+			assertEquals(expected, AVLTreeTest.toList(dict.completions(prefix)));
+			assertEquals(!expected.isEmpty(), dict.containsPrefix(prefix));
+		}
+		assertEquals("retains", dict.select(dict.rank("retains")));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void completionsRemoveTest() {
+		Iterator<String> it = dict.completions("retain");
+		it.next();
+		it.remove();
+	}
+}
@@ -0,0 +1,91 @@
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PrimitiveAVLTreeTest {
+
+	/** Offset of the long keys, so they don't fit in an int */
+	private static final long OFFSET = 1L << 40;
+
+	@Test
+	public void sameAsAVLTreeTest() {
+		Random random = new Random(25);
+		for (int round = 0; round < 500; round++) {
+			AVLTree<Integer> tree = new AVLTree<Integer>();
+			IntAVLTree ints = new IntAVLTree(random.nextInt(4));
+			LongAVLTree longs = new LongAVLTree();
+			int range = 1 + random.nextInt(60);
+			for (int step = 0; step < 120; step++) {
+				int item = random.nextInt(range) - range / 2;
+				if (random.nextInt(5) < 2) {
+					tree.remove(item);
+					ints.remove(item);
+					longs.remove(item + OFFSET);
+				}
+				else {
+					tree.insert(item);
+					ints.insert(item);
+					longs.insert(item + OFFSET);
+				}
+				ints.verifyInvariants();
+				longs.verifyInvariants();
+				// the same shape, not just the same items
+				assertEquals(tree.toString(), ints.toString());
+				assertEquals(tree.size(), ints.size());
+				assertEquals(tree.size(), longs.size());
+				assertEquals(tree.isEmpty(), ints.isEmpty());
+				int probe = random.nextInt(range) - range / 2;
+				assertEquals(tree.contains(probe), ints.contains(probe));
+				assertEquals(tree.contains(probe), longs.contains(probe + OFFSET));
+			}
+
+			// remove about half of the items through the iterators
+			Iterator<Integer> it = tree.iterator();
+			IntAVLTree.IntIterator intIt = ints.iterator();
+			LongAVLTree.LongIterator longIt = longs.iterator();
+			while (it.hasNext()) {
+				int item = it.next();
+				assertEquals(item, intIt.nextInt());
+				assertEquals(item + OFFSET, longIt.nextLong());
+				if (random.nextBoolean()) {
+					it.remove();
+					intIt.remove();
+					longIt.remove();
+				}
+			}
+			assertEquals(false, intIt.hasNext());
+			assertEquals(false, longIt.hasNext());
+			ints.verifyInvariants();
+			longs.verifyInvariants();
+			assertEquals(tree.toString(), ints.toString());
+			assertEquals(tree.size(), longs.size());
+		}
+	}
+
+	@Test
+	public void failFastTest() {
+		IntAVLTree ints = new IntAVLTree();
+		ints.insert(1);
+		Iterator<Integer> it = ints.iterator();
+		ints.insert(2);
+		try {
+			it.next();
+			fail("next after insert");
+		} catch (ConcurrentModificationException e) {
+		}
+
+		LongAVLTree longs = new LongAVLTree();
+		longs.insert(1);
+		Iterator<Long> longIt = longs.iterator();
+		longs.remove(1);
+		try {
+			longIt.next();
+			fail("next after remove");
+		} catch (ConcurrentModificationException e) {
+		}
+	}
+}